@@ -88,6 +88,57 @@ tasks.processResources {
 tasks.test {
     useJUnitPlatform()
     include("io/github/sinri/keel/tesuto/**/*Test.class")
+    // 使 ObjectFootprint 可遍历 JDK 集合与字符串的内部字段
+    jvmArgs(
+        "--add-opens=java.base/java.lang=ALL-UNNAMED",
+        "--add-opens=java.base/java.util=ALL-UNNAMED"
+    )
+    // 按历史耗时从长到短执行测试类，耗时记录于 keel-test-durations.properties
+    systemProperty(
+        "junit.jupiter.testclass.order.default",
+        "io.github.sinri.keel.tesuto.shard.DurationAwareClassOrderer"
+    )
+    // 分片执行，如在 4 个 CI 任务中分别运行 ./gradlew test -PtestShardCount=4 -PtestShardIndex=0..3；
+    // 分片参数对本任务的所有 fork 相同，maxParallelForks 划分的 fork 之间不会按耗时均衡
+    findProperty("testShardCount")?.let { systemProperty("keel.test.shard.count", it) }
+    findProperty("testShardIndex")?.let { systemProperty("keel.test.shard.index", it) }
+}
+
+// 将各分片记录的测试类耗时合并入 keel-test-durations.properties
+tasks.register<JavaExec>("mergeTestDurations") {
+    group = "verification"
+    description = "Merges per-shard test class durations into keel-test-durations.properties."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("io.github.sinri.keel.tesuto.shard.TestClassDurations")
+    args(layout.projectDirectory.file("keel-test-durations.properties").asFile.absolutePath)
+}
+
+// 以 AppCDS 归档加速 KeelInstantRunner 的启动，训练用的即时运行类可用 -PappCdsRunner=<类名> 指定
+val appCdsRunner = findProperty("appCdsRunner") as String? ?: "io.github.sinri.keel.tesuto.InstantSuccessTest"
+val appCdsArchiveFile = layout.buildDirectory.file("cds/$appCdsRunner.jsa")
+
+// AppCDS 只能归档从 JAR 文件加载的类，故将测试类另行打包
+val appCdsTestJar = tasks.register<Jar>("appCdsTestJar") {
+    archiveClassifier.set("appcds-tests")
+    from(sourceSets["test"].output)
+}
+
+tasks.register<JavaExec>("appCdsArchive") {
+    group = "build"
+    description = "Trains an AppCDS archive by running an instant runner."
+    classpath = files(tasks.jar, appCdsTestJar, configurations["testRuntimeClasspath"])
+    mainClass.set("io.github.sinri.keel.tesuto.cds.KeelAppCdsLauncher")
+    args("--train", "--archive=${appCdsArchiveFile.get().asFile.absolutePath}", appCdsRunner)
+    outputs.file(appCdsArchiveFile)
+}
+
+tasks.register<JavaExec>("appCdsCompare") {
+    group = "verification"
+    description = "Reports instant runner startup time without and with the AppCDS archive."
+    dependsOn("appCdsArchive")
+    classpath = files(tasks.jar, appCdsTestJar, configurations["testRuntimeClasspath"])
+    mainClass.set("io.github.sinri.keel.tesuto.cds.KeelAppCdsLauncher")
+    args("--compare", "--archive=${appCdsArchiveFile.get().asFile.absolutePath}", appCdsRunner)
 }
 
 // Configure JavaDoc (matching Maven javadoc plugin configuration)
@@ -8,6 +8,10 @@ import io.github.sinri.keel.logger.api.LateObject;
 import io.github.sinri.keel.logger.api.LogLevel;
 import io.github.sinri.keel.logger.api.factory.LoggerFactory;
 import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.footprint.FootprintReport;
+import io.github.sinri.keel.tesuto.footprint.ObjectFootprint;
+import io.github.sinri.keel.tesuto.profile.LaunchPhase;
+import io.github.sinri.keel.tesuto.profile.LaunchProfile;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -18,10 +22,12 @@ import org.jspecify.annotations.Nullable;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * 即时运行类，一个快速可执行程序基础实现类。
@@ -32,8 +38,19 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 @NullMarked
 public abstract class KeelInstantRunner {
+    /**
+     * 指定启动阶段剖析结果输出文件的系统属性名。
+     * <p>
+     * 设置后，进程退出前会将{@link LaunchProfile}以 properties 格式写入该文件，
+     * 供{@link io.github.sinri.keel.tesuto.cds.KeelAppCdsLauncher}等外部工具读取启动耗时。
+     *
+     * @since 5.0.3
+     */
+    public static final String PROPERTY_LAUNCH_PROFILE_FILE = "keel.instant.profile.file";
+
     private final LateObject<Logger> lateLogger = new LateObject<>();
     private final LateObject<List<String>> lateArgs = new LateObject<>();
+    private final LaunchProfile launchProfile = new LaunchProfile();
 
     protected KeelInstantRunner() {
 
@@ -101,47 +118,107 @@ public abstract class KeelInstantRunner {
         return lateArgs.get();
     }
 
+    /**
+     * 获取本次 launch 过程的阶段耗时剖析。
+     * <p>
+     * 各阶段在 launch 过程中陆续记录，在{@link #afterRun()}中可读取到此前已结束的阶段；
+     * 完整的剖析结果在进程退出前交由{@link #reportLaunchProfile(LaunchProfile)}输出。
+     *
+     * @return 本次 launch 过程的阶段耗时剖析
+     * @since 5.0.3
+     */
+    public final LaunchProfile getLaunchProfile() {
+        return launchProfile;
+    }
+
+    /**
+     * 度量给定对象图的深层保留大小与对象个数，并按类型分解。
+     * <p>
+     * 可对返回结果链式调用{@code assert*}方法以校验内存预算。
+     *
+     * @param root 根对象，如在{@link #run()}中构建的缓存
+     * @return 度量结果
+     * @since 5.0.3
+     */
+    protected final FootprintReport measureFootprint(Object root) {
+        return ObjectFootprint.measure(root);
+    }
+
+    /**
+     * 度量给定对象图的深层保留大小与对象个数，并按类型分解。
+     *
+     * @param root     根对象
+     * @param boundary 额外的边界判定，判定为真的对象（如共享的 Vertx 实例）不计入也不继续遍历
+     * @return 度量结果
+     * @since 5.0.3
+     */
+    protected final FootprintReport measureFootprint(Object root, Predicate<Object> boundary) {
+        return ObjectFootprint.measure(root, boundary);
+    }
+
     public final void launch(String[] args) {
         lateArgs.set(List.of(args));
 
+        launchProfile.begin(LaunchPhase.LOAD_CONFIGURATION);
         try {
             this.loadLocalConfiguration();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        launchProfile.end(LaunchPhase.LOAD_CONFIGURATION);
 
+        launchProfile.begin(LaunchPhase.BUILD_VERTX);
         VertxOptions vertxOptions = this.buildVertxOptions();
         Vertx vertx = Vertx.builder().with(vertxOptions).build();
+        launchProfile.end(LaunchPhase.BUILD_VERTX);
+
+        launchProfile.begin(LaunchPhase.SHARE_KEEL);
         Keel.share(vertx);
+        launchProfile.end(LaunchPhase.SHARE_KEEL);
 
+        launchProfile.begin(LaunchPhase.REPLACE_LOGGER_FACTORY);
         LoggerFactory.replaceShared(this.buildLoggerFactory());
         lateLogger.set(LoggerFactory.getShared().createLogger(getClass().getName()));
         this.getLogger().visibleLevel(buildVisibleLogLevel());
+        launchProfile.end(LaunchPhase.REPLACE_LOGGER_FACTORY);
 
         var countDownLatch = new CountDownLatch(1);
 
         Future.succeededFuture()
               .compose(v -> {
-                  return this.beforeRun();
+                  launchProfile.begin(LaunchPhase.BEFORE_RUN);
+                  return this.beforeRun()
+                             .andThen(ar -> launchProfile.end(LaunchPhase.BEFORE_RUN));
               })
               .compose(v -> {
+                  launchProfile.begin(LaunchPhase.DEPLOY);
                   KeelVerticleBase verticle = KeelVerticleBase.wrap(keelVerticleBase -> {
+                      launchProfile.end(LaunchPhase.DEPLOY);
+                      launchProfile.begin(LaunchPhase.RUN);
                       Future<Void> runFuture;
                       try {
                           runFuture = run();
                       } catch (Exception e) {
+                          launchProfile.end(LaunchPhase.RUN);
                           return Future.failedFuture(e);
                       }
 
-                      runFuture.eventually(this::afterRun)
+                      runFuture.eventually(() -> {
+                                   launchProfile.end(LaunchPhase.RUN);
+                                   launchProfile.begin(LaunchPhase.AFTER_RUN);
+                                   return this.afterRun();
+                               })
                                .onComplete(ar -> {
+                                   launchProfile.end(LaunchPhase.AFTER_RUN);
                                    if (ar.failed()) {
                                        getLogger().fatal(log -> log.message("RUN FAILED").exception(ar.cause()));
                                    } else {
                                        getLogger().debug("RUN SUCCESSFULLY");
                                    }
+                                   launchProfile.begin(LaunchPhase.UNDEPLOY);
                                    getKeel().undeploy(keelVerticleBase.deploymentID())
                                             .onComplete(undeployResult -> {
+                                                launchProfile.end(LaunchPhase.UNDEPLOY);
                                                 countDownLatch.countDown();
                                             });
                                });
@@ -154,6 +231,8 @@ public abstract class KeelInstantRunner {
                   getLogger().debug("Deployed verticle " + getClass().getName() + " as id: " + id);
               })
               .onFailure(t -> {
+                  launchProfile.end(LaunchPhase.BEFORE_RUN);
+                  launchProfile.end(LaunchPhase.DEPLOY);
                   getLogger().fatal(log -> log.message("Deployed verticle " + getClass().getName() + " failed")
                                               .exception(t));
                   countDownLatch.countDown();
@@ -168,13 +247,41 @@ public abstract class KeelInstantRunner {
             getLogger().fatal(log -> log.message("CountDownLatch Interrupted!").exception(e));
             returnCode.set(1);
         } finally {
+            launchProfile.begin(LaunchPhase.CLOSE);
             getKeel().close().onComplete(over -> {
+                launchProfile.end(LaunchPhase.CLOSE);
                 getLogger().debug("Closed Keel and vertx.");
+                reportLaunchProfile(launchProfile);
+                writeLaunchProfileFile();
                 System.exit(returnCode.get());
             });
         }
     }
 
+    /**
+     * 在进程退出前输出本次 launch 过程的阶段耗时剖析。
+     * <p>
+     * 默认以 INFO 级别将阶段耗时分解表写入日志；重载此方法以另行收集或上报剖析结果。
+     *
+     * @param launchProfile 本次 launch 过程的阶段耗时剖析
+     * @since 5.0.3
+     */
+    protected void reportLaunchProfile(LaunchProfile launchProfile) {
+        getLogger().info(launchProfile.toReport());
+    }
+
+    private void writeLaunchProfileFile() {
+        String profileFile = System.getProperty(PROPERTY_LAUNCH_PROFILE_FILE);
+        if (profileFile == null || profileFile.isBlank()) {
+            return;
+        }
+        try {
+            launchProfile.writeTo(Path.of(profileFile));
+        } catch (IOException e) {
+            getLogger().error(log -> log.message("Failed to write launch profile to " + profileFile).exception(e));
+        }
+    }
+
     /**
      * 运行正式逻辑之前，做一些准备工作。
      *
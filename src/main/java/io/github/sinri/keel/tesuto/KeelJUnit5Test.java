@@ -6,6 +6,14 @@ import io.github.sinri.keel.base.json.JsonifiableSerializer;
 import io.github.sinri.keel.base.logger.factory.StdoutLoggerFactory;
 import io.github.sinri.keel.logger.api.factory.LoggerFactory;
 import io.github.sinri.keel.logger.api.logger.Logger;
+import io.github.sinri.keel.tesuto.fixture.AsyncFixture;
+import io.github.sinri.keel.tesuto.fixture.AsyncFixtureExtension;
+import io.github.sinri.keel.tesuto.fixture.AsyncFixtureRegistry;
+import io.github.sinri.keel.tesuto.footprint.FootprintReport;
+import io.github.sinri.keel.tesuto.footprint.ObjectFootprint;
+import io.github.sinri.keel.tesuto.shard.TestClassDurationRecorder;
+import io.github.sinri.keel.tesuto.shard.TestShardCondition;
+import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.RunTestOnContext;
 import io.vertx.junit5.VertxExtension;
@@ -16,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.io.IOException;
+import java.util.function.Predicate;
 
 
 /**
@@ -26,11 +35,15 @@ import java.io.IOException;
  * <p>
  * 所有测试方法均需要加上{@code @Test}注解；
  * 如果测试方法内执行了异步逻辑，则需要加上方法参数{@code testContext}，类型为{@link VertxTestContext}。
+ * <p>
+ * 本类注册了{@link TestClassDurationRecorder}以记录各测试类的耗时，并注册了{@link TestShardCondition}，
+ * 在配置了分片参数时仅执行分配到当前分片的测试类。
+ * 本类还注册了{@link AsyncFixtureExtension}，以管理通过{@link #acquireFixture(AsyncFixture)}获取的共享异步夹具。
  *
  * @since 5.0.0
  */
 @NullMarked
-@ExtendWith(VertxExtension.class)
+@ExtendWith({VertxExtension.class, TestShardCondition.class, TestClassDurationRecorder.class, AsyncFixtureExtension.class})
 public abstract class KeelJUnit5Test {
     /**
      * A static instance of {@link RunTestOnContext} registered as a JUnit 5 extension.
@@ -130,6 +143,60 @@ public abstract class KeelJUnit5Test {
         return unitTestLogger;
     }
 
+    /**
+     * 获取一个异步测试夹具的实例，夹具尚未构建时构建之。
+     * <p>
+     * 同一共享范围内键相同的夹具只构建一次，由各测试类共享；本测试类结束后自动释放引用。
+     * 夹具运行在{@link AsyncFixtureRegistry#getVertx()}上，而非本类的{@link #getVertx()}。
+     *
+     * @param fixture 夹具声明
+     * @param <T>     夹具实例的类型
+     * @return 夹具实例
+     * @since 5.0.3
+     */
+    protected final <T> Future<T> acquireFixture(AsyncFixture<T> fixture) {
+        return acquireFixture(getClass(), fixture);
+    }
+
+    /**
+     * 获取一个异步测试夹具的实例，供{@code @BeforeAll}等静态方法使用。
+     *
+     * @param testClass 使用夹具的测试类，即静态方法所在的类
+     * @param fixture   夹具声明
+     * @param <T>       夹具实例的类型
+     * @return 夹具实例
+     * @see #acquireFixture(AsyncFixture)
+     * @since 5.0.3
+     */
+    protected static <T> Future<T> acquireFixture(Class<? extends KeelJUnit5Test> testClass, AsyncFixture<T> fixture) {
+        return AsyncFixtureRegistry.getInstance().acquire(testClass, fixture);
+    }
+
+    /**
+     * 度量给定对象图的深层保留大小与对象个数，并按类型分解。
+     * <p>
+     * 可对返回结果链式调用{@code assert*}方法以校验内存预算。
+     *
+     * @param root 根对象，如在测试方法中构建的缓存
+     * @return 度量结果
+     * @since 5.0.3
+     */
+    protected final FootprintReport measureFootprint(Object root) {
+        return ObjectFootprint.measure(root);
+    }
+
+    /**
+     * 度量给定对象图的深层保留大小与对象个数，并按类型分解。
+     *
+     * @param root     根对象
+     * @param boundary 额外的边界判定，判定为真的对象（如共享的 Vertx 实例）不计入也不继续遍历
+     * @return 度量结果
+     * @since 5.0.3
+     */
+    protected final FootprintReport measureFootprint(Object root, Predicate<Object> boundary) {
+        return ObjectFootprint.measure(root, boundary);
+    }
+
     //    /**
     //     * 默认提供测试方法。在实现中，需要加上{@link Test}注解。
     //     * <p>
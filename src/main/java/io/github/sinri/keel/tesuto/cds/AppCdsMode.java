@@ -0,0 +1,24 @@
+package io.github.sinri.keel.tesuto.cds;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * {@link KeelAppCdsLauncher}的工作模式。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+enum AppCdsMode {
+    /**
+     * 使用归档运行；归档不存在时，本次运行同时生成归档。
+     */
+    RUN,
+    /**
+     * 运行一次以生成（覆盖）归档。
+     */
+    TRAIN,
+    /**
+     * 分别在不使用与使用归档时运行若干次，比较启动耗时。
+     */
+    COMPARE
+}
@@ -0,0 +1,84 @@
+package io.github.sinri.keel.tesuto.cds;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link KeelAppCdsLauncher}的命令行选项。
+ *
+ * @param mode        工作模式
+ * @param archive     归档文件路径
+ * @param retrain     是否无视已有归档、重新生成
+ * @param runs        比较模式下每组的运行次数
+ * @param runnerClass 即时运行类的全限定名
+ * @param runnerArgs  传给即时运行类的参数
+ * @since 5.0.3
+ */
+@NullMarked
+record AppCdsOptions(
+        AppCdsMode mode,
+        Path archive,
+        boolean retrain,
+        int runs,
+        String runnerClass,
+        List<String> runnerArgs
+) {
+    static final String USAGE = "Usage: java -cp <classpath> " + KeelAppCdsLauncher.class.getName()
+            + " [--train|--compare] [--archive=<file>] [--retrain] [--runs=<n>] <runner class> [runner args...]";
+
+    /**
+     * 解析命令行参数；选项须位于即时运行类名之前，其后的参数全部原样传给即时运行类。
+     *
+     * @param args 命令行参数
+     * @return 解析结果
+     * @throws IllegalArgumentException 参数有误时
+     */
+    static AppCdsOptions parse(String[] args) {
+        AppCdsMode mode = AppCdsMode.RUN;
+        Path archive = null;
+        boolean retrain = false;
+        int runs = 3;
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); i++) {
+            String arg = args[i];
+            if (arg.equals("--train")) {
+                mode = AppCdsMode.TRAIN;
+            } else if (arg.equals("--compare")) {
+                mode = AppCdsMode.COMPARE;
+            } else if (arg.equals("--retrain")) {
+                retrain = true;
+            } else if (arg.startsWith("--archive=")) {
+                archive = Path.of(arg.substring("--archive=".length()));
+            } else if (arg.startsWith("--runs=")) {
+                try {
+                    runs = Integer.parseInt(arg.substring("--runs=".length()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid run count: " + arg, e);
+                }
+                if (runs < 1) {
+                    throw new IllegalArgumentException("Run count must be positive: " + arg);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Runner class is required");
+        }
+        String runnerClass = args[i];
+        if (archive == null) {
+            archive = Path.of(KeelAppCdsLauncher.DEFAULT_ARCHIVE_DIRECTORY, runnerClass + ".jsa");
+        }
+        return new AppCdsOptions(
+                mode,
+                archive.toAbsolutePath(),
+                retrain,
+                runs,
+                runnerClass,
+                List.copyOf(Arrays.asList(args).subList(i + 1, args.length))
+        );
+    }
+}
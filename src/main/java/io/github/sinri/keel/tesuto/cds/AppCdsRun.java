@@ -0,0 +1,15 @@
+package io.github.sinri.keel.tesuto.cds;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 一次子进程运行的结果。
+ *
+ * @param exitCode      子进程的退出码
+ * @param wallMillis    自启动子进程至其退出的挂钟耗时，单位为毫秒
+ * @param startupMillis 自子进程 JVM 启动至{@code run()}开始执行的耗时，单位为毫秒；未能取得时为 -1
+ * @since 5.0.3
+ */
+@NullMarked
+record AppCdsRun(int exitCode, long wallMillis, long startupMillis) {
+}
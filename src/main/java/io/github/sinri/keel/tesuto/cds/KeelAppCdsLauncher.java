@@ -0,0 +1,258 @@
+package io.github.sinri.keel.tesuto.cds;
+
+import io.github.sinri.keel.tesuto.KeelInstantRunner;
+import io.github.sinri.keel.tesuto.profile.LaunchPhase;
+import org.jspecify.annotations.NullMarked;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * 以 AppCDS（应用类数据共享）归档启动{@link KeelInstantRunner}实现类的启动器。
+ * <p>
+ * 启动器以当前 JVM 的类路径与 JVM 参数另起子进程运行指定的即时运行类：
+ * 训练时以{@code -XX:ArchiveClassesAtExit}在子进程退出时将其加载过的类转储为动态归档，
+ * 之后以{@code -XX:SharedArchiveFile}直接映射归档，省去 Vert.x、Netty、Jackson 等类的解析、校验与链接。
+ * 子进程的启动耗时取自其{@link io.github.sinri.keel.tesuto.profile.LaunchProfile}，
+ * 即自 JVM 启动至{@code run()}开始执行的时长。
+ * <p>
+ * 用法：{@code java -cp <类路径> io.github.sinri.keel.tesuto.cds.KeelAppCdsLauncher [选项] <即时运行类> [参数...]}
+ * <ul>
+ *     <li>无模式选项：使用归档运行，退出码同子进程；归档不存在时本次运行同时生成归档。</li>
+ *     <li>{@code --train}：运行一次以生成（覆盖）归档。</li>
+ *     <li>{@code --compare}：分别在不使用与使用归档时运行若干次（{@code --runs=<n>}，默认 3 次），输出启动耗时的中位数对比。</li>
+ *     <li>{@code --archive=<文件>}：归档路径，默认为{@value #DEFAULT_ARCHIVE_DIRECTORY}目录下的{@code <即时运行类>.jsa}。</li>
+ *     <li>{@code --retrain}：无视已有归档，重新生成。</li>
+ * </ul>
+ * 归档与生成时的 JDK 及类路径绑定，二者变化后 JVM 会静默地忽略归档，此时应重新生成。
+ * 类路径中含有非空目录时 JVM 无法生成或使用归档，此时启动器直接运行即时运行类（比较与训练模式则报错退出），
+ * 故应将即时运行类及其依赖打包为 JAR 文件。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class KeelAppCdsLauncher {
+    /**
+     * 未指定归档路径时，归档所在的目录（相对于工作目录）。
+     */
+    public static final String DEFAULT_ARCHIVE_DIRECTORY = "keel-cds";
+
+    private final AppCdsOptions options;
+
+    KeelAppCdsLauncher(AppCdsOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        AppCdsOptions options;
+        try {
+            options = AppCdsOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(AppCdsOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        System.exit(new KeelAppCdsLauncher(options).execute());
+    }
+
+    /**
+     * @return 启动器进程应使用的退出码
+     */
+    int execute() throws IOException, InterruptedException {
+        List<String> directories = findNonEmptyDirectoriesOnClassPath();
+        if (!directories.isEmpty()) {
+            // JVM 拒绝以含有非空目录的类路径生成或使用归档，且生成时会直接启动失败
+            log("Class path contains non-empty directories " + directories
+                    + "; package them as JAR files to use AppCDS.");
+            if (options.mode() != AppCdsMode.RUN) {
+                return 1;
+            }
+            return launch(List.of()).exitCode();
+        }
+        switch (options.mode()) {
+            case TRAIN: {
+                AppCdsRun run = train();
+                return run.exitCode();
+            }
+            case COMPARE: {
+                return compare();
+            }
+            default: {
+                AppCdsRun run;
+                if (options.retrain() || !Files.exists(options.archive())) {
+                    run = train();
+                } else {
+                    run = runOnce(true);
+                    log("Startup with archive: " + run.startupMillis() + " ms");
+                }
+                return run.exitCode();
+            }
+        }
+    }
+
+    private AppCdsRun train() throws IOException, InterruptedException {
+        Path archive = options.archive();
+        Path parent = archive.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.deleteIfExists(archive);
+
+        log("Training archive " + archive + " with " + options.runnerClass());
+        AppCdsRun run = launch(List.of("-XX:ArchiveClassesAtExit=" + archive));
+        if (Files.exists(archive)) {
+            log("Archive generated: " + archive + " (" + Files.size(archive) / 1024 + " KiB), startup without archive: "
+                    + run.startupMillis() + " ms");
+        } else {
+            log("Archive was not generated; check the JVM output above.");
+        }
+        return run;
+    }
+
+    private int compare() throws IOException, InterruptedException {
+        if (options.retrain() || !Files.exists(options.archive())) {
+            AppCdsRun training = train();
+            if (training.exitCode() != 0 || !Files.exists(options.archive())) {
+                return 1;
+            }
+        }
+
+        List<AppCdsRun> baseline = new ArrayList<>();
+        List<AppCdsRun> archived = new ArrayList<>();
+        // 交替运行，以免系统负载的变化偏向某一组
+        for (int i = 0; i < options.runs(); i++) {
+            baseline.add(runOnce(false));
+            archived.add(runOnce(true));
+        }
+
+        long baselineStartup = median(baseline.stream().mapToLong(AppCdsRun::startupMillis).toArray());
+        long archivedStartup = median(archived.stream().mapToLong(AppCdsRun::startupMillis).toArray());
+        long baselineWall = median(baseline.stream().mapToLong(AppCdsRun::wallMillis).toArray());
+        long archivedWall = median(archived.stream().mapToLong(AppCdsRun::wallMillis).toArray());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("AppCDS startup comparison for ").append(options.runnerClass())
+          .append(" (median of ").append(options.runs()).append(" run(s), archive: ").append(options.archive()).append(")\n");
+        sb.append(String.format("%-18s %12s %10s%n", "", "STARTUP(ms)", "WALL(ms)"));
+        sb.append(String.format("%-18s %12d %10d%n", "without archive", baselineStartup, baselineWall));
+        sb.append(String.format("%-18s %12d %10d%n", "with archive", archivedStartup, archivedWall));
+        sb.append(String.format("%-18s %12s %10s", "improvement",
+                improvement(baselineStartup, archivedStartup), improvement(baselineWall, archivedWall)));
+        log(sb.toString());
+
+        boolean failed = Stream.concat(baseline.stream(), archived.stream()).anyMatch(run -> run.exitCode() != 0);
+        return failed ? 1 : 0;
+    }
+
+    private AppCdsRun runOnce(boolean useArchive) throws IOException, InterruptedException {
+        List<String> cdsArguments = useArchive
+                ? List.of("-XX:SharedArchiveFile=" + options.archive())
+                : List.of();
+        return launch(cdsArguments);
+    }
+
+    private AppCdsRun launch(List<String> cdsArguments) throws IOException, InterruptedException {
+        Path profileFile = Files.createTempFile("keel-launch-profile-", ".properties");
+        try {
+            List<String> command = buildCommand(cdsArguments, profileFile);
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).inheritIO().start();
+            int exitCode = process.waitFor();
+            long wallMillis = (System.nanoTime() - start) / 1_000_000L;
+            return new AppCdsRun(exitCode, wallMillis, readStartupMillis(profileFile));
+        } finally {
+            Files.deleteIfExists(profileFile);
+        }
+    }
+
+    private List<String> buildCommand(List<String> cdsArguments, Path profileFile) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (isForwardable(argument)) {
+                command.add(argument);
+            }
+        }
+        command.addAll(cdsArguments);
+        command.add("-D" + KeelInstantRunner.PROPERTY_LAUNCH_PROFILE_FILE + "=" + profileFile);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(options.runnerClass());
+        command.addAll(options.runnerArgs());
+        return command;
+    }
+
+    /**
+     * 当前 JVM 的参数中，与归档相关的参数由启动器重新指定，调试代理会与本进程争用端口，均不转发给子进程。
+     */
+    static boolean isForwardable(String argument) {
+        return !argument.startsWith("-XX:SharedArchiveFile=")
+                && !argument.startsWith("-XX:ArchiveClassesAtExit=")
+                && !argument.startsWith("-Xshare:")
+                && !argument.startsWith("-agentlib:jdwp")
+                && !argument.startsWith("-D" + KeelInstantRunner.PROPERTY_LAUNCH_PROFILE_FILE + "=");
+    }
+
+    private static long readStartupMillis(Path profileFile) {
+        if (!Files.exists(profileFile)) {
+            return -1;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(profileFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(properties.getProperty(LaunchPhase.RUN.name() + ".beginUptimeMillis", "-1"));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static List<String> findNonEmptyDirectoriesOnClassPath() {
+        List<String> directories = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            File file = new File(entry);
+            String[] children = file.isDirectory() ? file.list() : null;
+            if (children != null && children.length > 0) {
+                directories.add(entry);
+            }
+        }
+        return directories;
+    }
+
+    /**
+     * @param values 若干取值，其中负数表示未能取得
+     * @return 有效取值的中位数（偶数个时取较小者）；无有效取值时为 -1
+     */
+    static long median(long[] values) {
+        long[] valid = Arrays.stream(values).filter(value -> value >= 0).sorted().toArray();
+        if (valid.length == 0) {
+            return -1;
+        }
+        return valid[(valid.length - 1) / 2];
+    }
+
+    private static String improvement(long before, long after) {
+        if (before <= 0 || after < 0) {
+            return "n/a";
+        }
+        return String.format("%.1f%%", (before - after) * 100.0 / before);
+    }
+
+    private static void log(String message) {
+        System.err.println("[" + KeelAppCdsLauncher.class.getSimpleName() + "] " + message);
+    }
+}
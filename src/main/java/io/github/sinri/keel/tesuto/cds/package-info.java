@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了为{@link io.github.sinri.keel.tesuto.KeelInstantRunner}生成并使用 AppCDS 归档以加速启动的启动器。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.cds;
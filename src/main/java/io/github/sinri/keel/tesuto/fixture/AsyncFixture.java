@@ -0,0 +1,123 @@
+package io.github.sinri.keel.tesuto.fixture;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 异步测试夹具的声明，如启动替身服务、预热缓存等代价较高的异步准备工作。
+ * <p>
+ * 同一共享范围内，键相同的夹具只会构建一次，由所有使用它的测试类共享，并按使用它的测试类计数：
+ * <ul>
+ *     <li>{@link FixtureScope#CLASS}范围的夹具在测试类结束时销毁；</li>
+ *     <li>其他范围的夹具在所有使用者结束后，若设置了空闲超时，则空闲满该时长仍无新使用者时销毁；
+ *     未设置空闲超时的，保留至整个测试运行结束时销毁。</li>
+ * </ul>
+ * 本类不可变，宜声明为测试类的静态常量：
+ * <pre>{@code
+ * static final AsyncFixture<HttpServer> STUB_SERVER = AsyncFixture
+ *         .of("stub-server", vertx -> vertx.createHttpServer().requestHandler(...).listen(18080))
+ *         .withTeardown(HttpServer::close)
+ *         .withIdleTimeout(Duration.ofSeconds(10));
+ * }</pre>
+ *
+ * @param <T> 夹具实例的类型
+ * @since 5.0.3
+ */
+@NullMarked
+public final class AsyncFixture<T> {
+    private final String key;
+    private final FixtureScope scope;
+    private final Function<Vertx, Future<T>> factory;
+    private final Function<T, Future<Void>> teardown;
+    private final @Nullable Duration idleTimeout;
+
+    private AsyncFixture(
+            String key,
+            FixtureScope scope,
+            Function<Vertx, Future<T>> factory,
+            Function<T, Future<Void>> teardown,
+            @Nullable Duration idleTimeout
+    ) {
+        this.key = key;
+        this.scope = scope;
+        this.factory = factory;
+        this.teardown = teardown;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * 声明一个{@link FixtureScope#SUITE}范围、无需销毁动作、保留至测试运行结束的夹具。
+     *
+     * @param key     夹具的键，在共享范围内唯一标识该夹具
+     * @param factory 构建夹具实例的方法，参数为夹具专用的共享 Vertx 实例
+     * @param <T>     夹具实例的类型
+     * @return 夹具声明
+     */
+    public static <T> AsyncFixture<T> of(String key, Function<Vertx, Future<T>> factory) {
+        return new AsyncFixture<>(key, FixtureScope.SUITE, factory, instance -> Future.succeededFuture(), null);
+    }
+
+    /**
+     * @param scope 共享范围
+     * @return 使用给定共享范围的新声明
+     */
+    public AsyncFixture<T> withScope(FixtureScope scope) {
+        return new AsyncFixture<>(key, scope, factory, teardown, idleTimeout);
+    }
+
+    /**
+     * @param teardown 销毁夹具实例的方法
+     * @return 使用给定销毁方法的新声明
+     */
+    public AsyncFixture<T> withTeardown(Function<T, Future<Void>> teardown) {
+        return new AsyncFixture<>(key, scope, factory, teardown, idleTimeout);
+    }
+
+    /**
+     * @param idleTimeout 空闲超时，即最后一个使用者结束后保留的时长；为{@link Duration#ZERO}时立即销毁
+     * @return 使用给定空闲超时的新声明
+     */
+    public AsyncFixture<T> withIdleTimeout(Duration idleTimeout) {
+        return new AsyncFixture<>(key, scope, factory, teardown, idleTimeout);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public FixtureScope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return 空闲超时；为 null 时保留至测试运行结束
+     */
+    public @Nullable Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    Future<T> create(Vertx vertx) {
+        return factory.apply(vertx);
+    }
+
+    Future<Void> destroy(T instance) {
+        return teardown.apply(instance);
+    }
+
+    /**
+     * @param testClass 使用夹具的测试类
+     * @return 结合共享范围的唯一键
+     */
+    String scopedKey(Class<?> testClass) {
+        return switch (scope) {
+            case CLASS -> "class:" + testClass.getName() + "#" + key;
+            case PACKAGE -> "package:" + testClass.getPackageName() + "#" + key;
+            case SUITE -> "suite:" + key;
+        };
+    }
+}
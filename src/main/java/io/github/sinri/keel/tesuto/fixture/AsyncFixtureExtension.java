@@ -0,0 +1,50 @@
+package io.github.sinri.keel.tesuto.fixture;
+
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 管理异步测试夹具引用的 JUnit 5 扩展。
+ * <p>
+ * 测试类的{@code @AfterAll}之后释放该类持有的夹具引用，并等待需立即销毁的夹具销毁完成；
+ * 整个测试运行结束时销毁剩余的夹具。
+ * <p>
+ * {@link io.github.sinri.keel.tesuto.KeelJUnit5Test}已注册本扩展。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class AsyncFixtureExtension implements BeforeAllCallback, AfterAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(AsyncFixtureExtension.class);
+    private static final long TEARDOWN_TIMEOUT_SECONDS = 30;
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+               .getOrComputeIfAbsent(RegistryCloser.class, key -> new RegistryCloser(), RegistryCloser.class);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        await(AsyncFixtureRegistry.getInstance().release(context.getRequiredTestClass()));
+    }
+
+    private static void await(Future<Void> future) throws Exception {
+        future.toCompletionStage().toCompletableFuture().get(TEARDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 随根上下文关闭，即整个测试运行结束时，销毁剩余的夹具。
+     */
+    private static final class RegistryCloser implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() throws Throwable {
+            await(AsyncFixtureRegistry.getInstance().close());
+        }
+    }
+}
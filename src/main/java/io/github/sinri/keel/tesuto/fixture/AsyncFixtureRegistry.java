@@ -0,0 +1,203 @@
+package io.github.sinri.keel.tesuto.fixture;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * 异步测试夹具的全局登记处，负责夹具实例的构建、共享、引用计数与销毁。
+ * <p>
+ * 每个测试类结束时{@link io.github.sinri.keel.tesuto.KeelJUnit5Test}所用的 Vertx 实例都会被关闭，
+ * 因此跨测试类共享的夹具运行在本登记处专用的 Vertx 实例上（使用守护线程），该实例在测试运行结束时关闭。
+ * <p>
+ * 键相同的夹具在销毁完成之前不会被重新构建，以免如端口占用之类的冲突。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class AsyncFixtureRegistry {
+    private static final AsyncFixtureRegistry instance = new AsyncFixtureRegistry();
+
+    private final Map<String, Holder> holders = new HashMap<>();
+    private final Map<String, Future<Void>> teardowns = new HashMap<>();
+    private @Nullable Vertx vertx;
+
+    private AsyncFixtureRegistry() {
+    }
+
+    public static AsyncFixtureRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return 夹具专用的共享 Vertx 实例，首次调用时创建
+     */
+    public synchronized Vertx getVertx() {
+        if (vertx == null) {
+            vertx = Vertx.builder().with(new VertxOptions().setUseDaemonThread(true)).build();
+        }
+        return vertx;
+    }
+
+    /**
+     * 为测试类获取夹具实例；夹具尚未构建时构建之。
+     * <p>
+     * 同一测试类多次获取同一夹具只计一次引用。构建失败的夹具不会被保留，下次获取时将重新构建。
+     * 夹具的构建在登记处的锁之外、于夹具专用 Vertx 实例的上下文中进行，耗时的构建不会阻塞其他夹具的获取与释放。
+     *
+     * @param testClass 使用夹具的测试类
+     * @param fixture   夹具声明
+     * @param <T>       夹具实例的类型
+     * @return 夹具实例
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Future<T> acquire(Class<?> testClass, AsyncFixture<T> fixture) {
+        String scopedKey = fixture.scopedKey(testClass);
+        @Nullable Promise<T> creation = null;
+        Future<Void> previousTeardown = Future.succeededFuture();
+        Vertx fixtureVertx;
+        Holder holder;
+        synchronized (this) {
+            fixtureVertx = getVertx();
+            holder = holders.get(scopedKey);
+            if (holder == null) {
+                creation = Promise.promise();
+                previousTeardown = teardowns.getOrDefault(scopedKey, Future.succeededFuture());
+                holder = new Holder(fixture, creation.future());
+                holders.put(scopedKey, holder);
+            }
+            if (holder.users.add(testClass.getName()) && holder.idleTimerId >= 0) {
+                fixtureVertx.cancelTimer(holder.idleTimerId);
+                holder.idleTimerId = -1;
+            }
+        }
+        if (creation != null) {
+            Promise<T> newCreation = creation;
+            Holder newHolder = holder;
+            newCreation.future().onFailure(throwable -> {
+                synchronized (this) {
+                    if (holders.get(scopedKey) == newHolder) {
+                        holders.remove(scopedKey);
+                    }
+                }
+            });
+            Context context = fixtureVertx.getOrCreateContext();
+            previousTeardown.onComplete(ar -> context.runOnContext(v -> {
+                try {
+                    fixture.create(fixtureVertx).onComplete(newCreation);
+                } catch (Throwable throwable) {
+                    newCreation.tryFail(throwable);
+                }
+            }));
+        }
+        return (Future<T>) holder.instance;
+    }
+
+    /**
+     * 释放测试类持有的所有夹具引用。
+     * <p>
+     * 引用归零的夹具按其共享范围与空闲超时立即销毁或开始空闲计时。
+     *
+     * @param testClass 已结束的测试类
+     * @return 需立即销毁的夹具全部销毁完成时的异步结果
+     */
+    public synchronized Future<Void> release(Class<?> testClass) {
+        List<Future<Void>> evictions = new ArrayList<>();
+        for (Map.Entry<String, Holder> entry : new ArrayList<>(holders.entrySet())) {
+            String scopedKey = entry.getKey();
+            Holder holder = entry.getValue();
+            if (!holder.users.remove(testClass.getName()) || !holder.users.isEmpty()) {
+                continue;
+            }
+            Duration idleTimeout = holder.fixture.getIdleTimeout();
+            if (holder.fixture.getScope() == FixtureScope.CLASS
+                    || (idleTimeout != null && idleTimeout.toMillis() <= 0)) {
+                evictions.add(evict(scopedKey, holder));
+            } else if (idleTimeout != null) {
+                holder.idleTimerId = getVertx().setTimer(idleTimeout.toMillis(), id -> {
+                    synchronized (this) {
+                        if (holders.get(scopedKey) == holder && holder.users.isEmpty() && holder.idleTimerId == id) {
+                            evict(scopedKey, holder);
+                        }
+                    }
+                });
+            }
+        }
+        return Future.all(evictions).mapEmpty();
+    }
+
+    /**
+     * 销毁所有夹具并关闭专用的 Vertx 实例，在测试运行结束时调用。
+     *
+     * @return 销毁与关闭完成时的异步结果
+     */
+    public Future<Void> close() {
+        Vertx closing;
+        List<Future<Void>> evictions = new ArrayList<>();
+        synchronized (this) {
+            closing = vertx;
+            if (closing == null) {
+                return Future.succeededFuture();
+            }
+            for (Map.Entry<String, Holder> entry : new ArrayList<>(holders.entrySet())) {
+                if (entry.getValue().idleTimerId >= 0) {
+                    closing.cancelTimer(entry.getValue().idleTimerId);
+                }
+                evictions.add(evict(entry.getKey(), entry.getValue()));
+            }
+            evictions.addAll(teardowns.values());
+            vertx = null;
+        }
+        return Future.join(evictions)
+                     .eventually(closing::close)
+                     .mapEmpty();
+    }
+
+    /**
+     * @param testClass 测试类
+     * @param fixture   夹具声明
+     * @return 该夹具当前的使用者数；未构建时为 0
+     */
+    public synchronized int getReferenceCount(Class<?> testClass, AsyncFixture<?> fixture) {
+        Holder holder = holders.get(fixture.scopedKey(testClass));
+        return holder == null ? 0 : holder.users.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Future<Void> evict(String scopedKey, Holder holder) {
+        holders.remove(scopedKey);
+        AsyncFixture<Object> fixture = (AsyncFixture<Object>) holder.fixture;
+        Future<Void> teardown = holder.instance.transform(ar -> {
+            if (ar.failed()) {
+                return Future.succeededFuture();
+            }
+            return fixture.destroy(ar.result());
+        });
+        teardowns.put(scopedKey, teardown);
+        teardown.onComplete(ar -> {
+            synchronized (this) {
+                teardowns.remove(scopedKey, teardown);
+            }
+        });
+        return teardown;
+    }
+
+    private static final class Holder {
+        private final AsyncFixture<?> fixture;
+        private final Future<?> instance;
+        private final Set<String> users = new HashSet<>();
+        private long idleTimerId = -1;
+
+        private Holder(AsyncFixture<?> fixture, Future<?> instance) {
+            this.fixture = fixture;
+            this.instance = instance;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.sinri.keel.tesuto.fixture;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 异步测试夹具的共享范围。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public enum FixtureScope {
+    /**
+     * 仅在一个测试类内共享，该类的测试全部结束后即销毁。
+     */
+    CLASS,
+    /**
+     * 在同一个包内的测试类之间共享。
+     */
+    PACKAGE,
+    /**
+     * 在整个测试运行中的所有测试类之间共享。
+     */
+    SUITE
+}
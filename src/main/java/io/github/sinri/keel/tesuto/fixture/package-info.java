@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了可在多个测试类之间共享、按引用计数管理生命周期的异步测试夹具（fixture）。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.fixture;
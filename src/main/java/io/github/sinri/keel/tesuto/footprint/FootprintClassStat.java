@@ -0,0 +1,15 @@
+package io.github.sinri.keel.tesuto.footprint;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 对象图中某一类型的实例统计。
+ *
+ * @param type      类型
+ * @param instances 实例数量
+ * @param bytes     这些实例的浅层大小之和，单位为字节
+ * @since 5.0.3
+ */
+@NullMarked
+public record FootprintClassStat(Class<?> type, long instances, long bytes) {
+}
@@ -0,0 +1,146 @@
+package io.github.sinri.keel.tesuto.footprint;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 一次对象图内存占用度量的结果。
+ * <p>
+ * 以{@code assert}开头的方法可链式调用以校验内存预算，超出预算时抛出{@link AssertionError}，
+ * 在 JUnit 中将表现为测试失败。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class FootprintReport {
+    private final long totalBytes;
+    private final long objectCount;
+    private final List<FootprintClassStat> classStats;
+    private final long untraversedReferenceCount;
+
+    FootprintReport(Map<Class<?>, long[]> statMap, long untraversedReferenceCount) {
+        this.untraversedReferenceCount = untraversedReferenceCount;
+        this.classStats = statMap.entrySet().stream()
+                                 .map(e -> new FootprintClassStat(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                                 .sorted(Comparator.comparingLong(FootprintClassStat::bytes).reversed()
+                                                   .thenComparing(s -> s.type().getName()))
+                                 .collect(Collectors.toUnmodifiableList());
+        this.totalBytes = classStats.stream().mapToLong(FootprintClassStat::bytes).sum();
+        this.objectCount = classStats.stream().mapToLong(FootprintClassStat::instances).sum();
+    }
+
+    /**
+     * @return 对象图的深层保留大小，单位为字节
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return 对象图中的对象总数
+     */
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @return 因字段无法访问而未遍历的引用个数；大于 0 时深层保留大小偏小，参见{@link ObjectFootprint}中关于{@code --add-opens}的说明
+     */
+    public long getUntraversedReferenceCount() {
+        return untraversedReferenceCount;
+    }
+
+    /**
+     * @return 按类型分解的统计，按占用字节数降序排列
+     */
+    public List<FootprintClassStat> getClassStats() {
+        return classStats;
+    }
+
+    /**
+     * @param type 类型（精确匹配，不含子类）
+     * @return 该类型的统计；对象图中没有该类型的实例时，实例数与字节数均为 0
+     */
+    public FootprintClassStat getClassStat(Class<?> type) {
+        for (FootprintClassStat classStat : classStats) {
+            if (classStat.type() == type) {
+                return classStat;
+            }
+        }
+        return new FootprintClassStat(type, 0, 0);
+    }
+
+    /**
+     * 校验对象图的深层保留大小不超过给定预算。
+     *
+     * @param maxBytes 预算，单位为字节
+     * @return 本对象，以便链式调用
+     * @throws AssertionError 超出预算时
+     */
+    public FootprintReport assertTotalBytesAtMost(long maxBytes) {
+        if (totalBytes > maxBytes) {
+            throw new AssertionError("Footprint " + totalBytes + " bytes exceeds budget " + maxBytes + " bytes\n" + toReport());
+        }
+        return this;
+    }
+
+    /**
+     * 校验对象图中的对象总数不超过给定预算。
+     *
+     * @param maxObjects 预算，对象个数
+     * @return 本对象，以便链式调用
+     * @throws AssertionError 超出预算时
+     */
+    public FootprintReport assertObjectCountAtMost(long maxObjects) {
+        if (objectCount > maxObjects) {
+            throw new AssertionError("Object count " + objectCount + " exceeds budget " + maxObjects + "\n" + toReport());
+        }
+        return this;
+    }
+
+    /**
+     * 校验对象图中某一类型实例的浅层大小之和不超过给定预算。
+     *
+     * @param type     类型（精确匹配，不含子类）
+     * @param maxBytes 预算，单位为字节
+     * @return 本对象，以便链式调用
+     * @throws AssertionError 超出预算时
+     */
+    public FootprintReport assertClassBytesAtMost(Class<?> type, long maxBytes) {
+        FootprintClassStat classStat = getClassStat(type);
+        if (classStat.bytes() > maxBytes) {
+            throw new AssertionError("Footprint of " + type.getName() + " " + classStat.bytes()
+                    + " bytes exceeds budget " + maxBytes + " bytes\n" + toReport());
+        }
+        return this;
+    }
+
+    /**
+     * @return 可直接打印的按类型分解表
+     */
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%14s %12s %14s  %s%n", "BYTES", "INSTANCES", "AVG", "CLASS"));
+        for (FootprintClassStat classStat : classStats) {
+            sb.append(String.format("%14d %12d %14.1f  %s%n",
+                    classStat.bytes(),
+                    classStat.instances(),
+                    classStat.bytes() * 1.0 / classStat.instances(),
+                    classStat.type().getTypeName()));
+        }
+        sb.append(String.format("%14d %12d %14s  %s", totalBytes, objectCount, "", "(total)"));
+        if (untraversedReferenceCount > 0) {
+            sb.append(String.format("%n%d inaccessible reference(s) not traversed", untraversedReferenceCount));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+}
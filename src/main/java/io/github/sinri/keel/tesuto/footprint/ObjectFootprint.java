@@ -0,0 +1,236 @@
+package io.github.sinri.keel.tesuto.footprint;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * 对象图内存占用的度量工具。
+ * <p>
+ * 从给定的根对象出发遍历所有强引用可达的对象，按当前 JVM 的对象头大小、压缩指针与对齐设置，
+ * 以对象头与各实例字段大小之和估算每个对象的浅层大小，汇总得到深层保留大小、对象个数及按类型的分解。
+ * 估算不含 JVM 为字段对齐插入的填充，通常与实际大小相差不超过一个对齐单位。
+ * <p>
+ * 以下对象视为边界，不计入也不继续遍历：{@link Class}、{@link ClassLoader}、{@link Thread}、
+ * {@link ThreadGroup}，以及{@link Reference}所指向的对象（弱引用、软引用不构成保留关系）。
+ * 可通过{@link #measure(Object, Predicate)}追加边界，例如排除共享的 Vertx 实例。
+ * <p>
+ * 字段以反射读取。未向本模块开放的包（如{@code java.util}）中的私有字段无法读取，
+ * 其所指向的对象不会被遍历，数量见{@link FootprintReport#getUntraversedReferenceCount()}；
+ * 需要度量 JDK 集合等内部结构时，应以{@code --add-opens java.base/java.util=ALL-UNNAMED}等参数启动 JVM。
+ * {@link String}的字节数组与枚举常量的名称例外：{@code java.lang}未开放时，前者按字符串长度与编码估算，后者经{@link Enum#name()}遍历。
+ * <p>
+ * 度量期间对象图应保持静止；并发修改中的对象图将得到不确定的结果。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class ObjectFootprint {
+    private static final boolean compressedOops = readBooleanVMOption("UseCompressedOops", true);
+    private static final boolean compressedClassPointers = readBooleanVMOption("UseCompressedClassPointers", true);
+    private static final boolean compactStrings = readBooleanVMOption("CompactStrings", true);
+    private static final int referenceSize = compressedOops ? 4 : 8;
+    private static final int objectAlignment = loadObjectAlignment();
+    /**
+     * 对象头：8 字节的 mark word 加上类指针。
+     */
+    private static final int headerSize = compressedClassPointers ? 12 : 16;
+    /**
+     * 数组头：对象头加上 4 字节的长度，按 8 字节对齐后为首个元素的偏移。
+     */
+    private static final int arrayBaseOffset = (headerSize + 4 + 7) / 8 * 8;
+    private static final ClassValue<ClassLayout> layouts = new ClassValue<>() {
+        @Override
+        protected ClassLayout computeValue(Class<?> type) {
+            return ClassLayout.of(type);
+        }
+    };
+
+    private ObjectFootprint() {
+    }
+
+    /**
+     * 度量对象图的内存占用。
+     *
+     * @param root 根对象
+     * @return 度量结果
+     */
+    public static FootprintReport measure(Object root) {
+        return measure(root, object -> false);
+    }
+
+    /**
+     * 度量对象图的内存占用。
+     *
+     * @param root     根对象
+     * @param boundary 额外的边界判定；判定为真的对象不计入也不继续遍历，但对根对象不生效
+     * @return 度量结果
+     */
+    public static FootprintReport measure(Object root, Predicate<Object> boundary) {
+        Map<Class<?>, long[]> statMap = new HashMap<>();
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pending = new ArrayDeque<>();
+        long untraversedReferences = 0;
+        visited.add(root);
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            Class<?> type = object.getClass();
+            long size;
+            if (type.isArray()) {
+                int length = Array.getLength(object);
+                size = align(arrayBaseOffset + (long) sizeOf(type.getComponentType()) * length);
+                if (!type.getComponentType().isPrimitive()) {
+                    Object[] array = (Object[]) object;
+                    for (Object element : array) {
+                        follow(element, visited, pending, boundary);
+                    }
+                }
+            } else {
+                ClassLayout layout = layouts.get(type);
+                size = layout.shallowSize;
+                for (Field field : layout.referenceFields) {
+                    follow(read(field, object), visited, pending, boundary);
+                }
+                int inaccessible = layout.inaccessibleReferenceFields;
+                if (inaccessible > 0 && object instanceof String) {
+                    // java.lang 未开放时无法读取 String 的字节数组，按长度与编码估算
+                    addStat(statMap, byte[].class, align(arrayBaseOffset + valueLengthOf((String) object)));
+                    inaccessible--;
+                } else if (inaccessible > 0 && object instanceof Enum) {
+                    // 同理，经公开方法取得枚举常量的名称
+                    follow(((Enum<?>) object).name(), visited, pending, boundary);
+                    inaccessible--;
+                }
+                untraversedReferences += inaccessible;
+            }
+            addStat(statMap, type, size);
+        }
+
+        return new FootprintReport(statMap, untraversedReferences);
+    }
+
+    private static void addStat(Map<Class<?>, long[]> statMap, Class<?> type, long size) {
+        long[] stat = statMap.computeIfAbsent(type, x -> new long[2]);
+        stat[0]++;
+        stat[1] += size;
+    }
+
+    /**
+     * @return String 内部字节数组的长度：启用紧凑字符串且全部字符可用 Latin-1 表示时每字符 1 字节，否则为 UTF-16 的 2 字节
+     */
+    private static long valueLengthOf(String string) {
+        if (compactStrings) {
+            boolean latin1 = true;
+            for (int i = 0; i < string.length() && latin1; i++) {
+                latin1 = string.charAt(i) < 256;
+            }
+            if (latin1) {
+                return string.length();
+            }
+        }
+        return 2L * string.length();
+    }
+
+    private static void follow(@Nullable Object target, Set<Object> visited, Deque<Object> pending, Predicate<Object> boundary) {
+        if (target == null || isIntrinsicBoundary(target) || boundary.test(target)) {
+            return;
+        }
+        if (visited.add(target)) {
+            pending.push(target);
+        }
+    }
+
+    private static @Nullable Object read(Field field, Object owner) {
+        try {
+            return field.get(owner);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static boolean isIntrinsicBoundary(Object object) {
+        return object instanceof Class
+                || object instanceof ClassLoader
+                || object instanceof Thread
+                || object instanceof ThreadGroup;
+    }
+
+    private static long align(long size) {
+        return (size + objectAlignment - 1) / objectAlignment * objectAlignment;
+    }
+
+    private static int sizeOf(Class<?> fieldType) {
+        if (fieldType == boolean.class || fieldType == byte.class) return 1;
+        if (fieldType == char.class || fieldType == short.class) return 2;
+        if (fieldType == int.class || fieldType == float.class) return 4;
+        if (fieldType == long.class || fieldType == double.class) return 8;
+        return referenceSize;
+    }
+
+    private static boolean readBooleanVMOption(String name, boolean defaultValue) {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(bean.getVMOption(name).getValue());
+        } catch (RuntimeException e) {
+            return defaultValue;
+        }
+    }
+
+    private static int loadObjectAlignment() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Integer.parseInt(bean.getVMOption("ObjectAlignmentInBytes").getValue());
+        } catch (RuntimeException e) {
+            return 8;
+        }
+    }
+
+    /**
+     * 某一类型实例的浅层大小及其可读取的引用类型字段。
+     */
+    private static final class ClassLayout {
+        private final long shallowSize;
+        private final List<Field> referenceFields;
+        private final int inaccessibleReferenceFields;
+
+        private ClassLayout(long shallowSize, List<Field> referenceFields, int inaccessibleReferenceFields) {
+            this.shallowSize = shallowSize;
+            this.referenceFields = referenceFields;
+            this.inaccessibleReferenceFields = inaccessibleReferenceFields;
+        }
+
+        static ClassLayout of(Class<?> type) {
+            long size = headerSize;
+            List<Field> fields = new ArrayList<>();
+            int inaccessible = 0;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Class<?> fieldType = field.getType();
+                    size += sizeOf(fieldType);
+                    if (fieldType.isPrimitive() || (c == Reference.class && field.getName().equals("referent"))) {
+                        continue;
+                    }
+                    if (field.trySetAccessible()) {
+                        fields.add(field);
+                    } else {
+                        inaccessible++;
+                    }
+                }
+            }
+            return new ClassLayout(align(size), List.copyOf(fields), inaccessible);
+        }
+    }
+}
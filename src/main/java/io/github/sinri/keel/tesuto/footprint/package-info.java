@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了对象图内存占用（footprint）的度量工具。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.footprint;
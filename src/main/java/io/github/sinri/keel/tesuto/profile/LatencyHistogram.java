@@ -0,0 +1,148 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 定长内存的延迟直方图。
+ * <p>
+ * 采用对数-线性分桶：每个 2 的幂区间再均分为 32 个子桶，分位数的相对误差不超过约 3%；
+ * 无论记录多少数据，占用内存恒定（约 15 KB），适用于长时间、大数据量的压测与回放。
+ * <p>
+ * 本类是线程安全的，可由多个事件循环线程并发记录。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * 记录一个延迟值。
+     *
+     * @param nanos 延迟，单位为纳秒；负值按 0 记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 将另一直方图的数据并入本直方图。
+     *
+     * @param other 另一直方图
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long n = other.buckets.get(i);
+            if (n > 0) {
+                buckets.addAndGet(i, n);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        min.accumulate(other.min.get());
+        max.accumulate(other.max.get());
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return 最小延迟，单位为纳秒；无数据时为 0
+     */
+    public long getMinNanos() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * @return 最大延迟，单位为纳秒；无数据时为 0
+     */
+    public long getMaxNanos() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * @return 平均延迟，单位为纳秒；无数据时为 0
+     */
+    public double getMeanNanos() {
+        long n = getCount();
+        return n == 0 ? 0 : sum.sum() * 1.0 / n;
+    }
+
+    /**
+     * @param percentile 分位，取值范围 [0, 100]，如 99 表示 p99
+     * @return 该分位的延迟（所在子桶的上界，且不超过最大值），单位为纳秒；无数据时为 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = getCount();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * @return 形如{@code n=1000 min=0.120 mean=0.530 p50=0.480 p90=0.910 p99=1.820 p999=2.950 max=3.100 (ms)}的摘要
+     */
+    public String toSummary() {
+        return String.format("n=%d min=%.3f mean=%.3f p50=%.3f p90=%.3f p99=%.3f p999=%.3f max=%.3f (ms)",
+                getCount(),
+                getMinNanos() / 1e6,
+                getMeanNanos() / 1e6,
+                getValueAtPercentile(50) / 1e6,
+                getValueAtPercentile(90) / 1e6,
+                getValueAtPercentile(99) / 1e6,
+                getValueAtPercentile(99.9) / 1e6,
+                getMaxNanos() / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        long lowerBound = (SUB_BUCKET_COUNT + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
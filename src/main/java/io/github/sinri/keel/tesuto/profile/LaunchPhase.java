@@ -0,0 +1,52 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * {@link io.github.sinri.keel.tesuto.KeelInstantRunner#launch(String[])} 依次经历的各个阶段。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public enum LaunchPhase {
+    /**
+     * 加载本地配置，即{@code loadLocalConfiguration()}。
+     */
+    LOAD_CONFIGURATION,
+    /**
+     * 以{@code buildVertxOptions()}构建 Vertx 实例。
+     */
+    BUILD_VERTX,
+    /**
+     * 将 Vertx 实例注册为全局共享的 Keel 实例。
+     */
+    SHARE_KEEL,
+    /**
+     * 替换全局 LoggerFactory 并创建运行器的 Logger。
+     */
+    REPLACE_LOGGER_FACTORY,
+    /**
+     * 执行{@code beforeRun()}。
+     */
+    BEFORE_RUN,
+    /**
+     * 部署承载正式逻辑的 Verticle，直至其启动方法开始执行。
+     */
+    DEPLOY,
+    /**
+     * 执行{@code run()}直至其返回的 Future 完成。
+     */
+    RUN,
+    /**
+     * 执行{@code afterRun()}。
+     */
+    AFTER_RUN,
+    /**
+     * 卸载承载正式逻辑的 Verticle。
+     */
+    UNDEPLOY,
+    /**
+     * 关闭 Keel 及 Vertx 实例。
+     */
+    CLOSE
+}
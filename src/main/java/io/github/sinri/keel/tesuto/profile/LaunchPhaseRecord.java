@@ -0,0 +1,34 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 一个启动阶段的度量结果。
+ * <p>
+ * 类加载数、JIT 编译耗时与 GC 数据均为阶段起止时刻 JVM 全局计数的差值，
+ * 其间其他线程（如 Vertx 事件循环、JIT 编译线程）产生的消耗也会计入。
+ *
+ * @param phase             阶段
+ * @param elapsedNanos      阶段耗时，基于{@link System#nanoTime()}的单调时钟，单位为纳秒
+ * @param loadedClasses     阶段内新加载的类数量
+ * @param compilationMillis 阶段内 JIT 编译耗时，单位为毫秒；JVM 不支持编译耗时监控时为 -1
+ * @param gcCount           阶段内发生的 GC 次数
+ * @param gcMillis          阶段内 GC 累计耗时，单位为毫秒
+ * @since 5.0.3
+ */
+@NullMarked
+public record LaunchPhaseRecord(
+        LaunchPhase phase,
+        long elapsedNanos,
+        long loadedClasses,
+        long compilationMillis,
+        long gcCount,
+        long gcMillis
+) {
+    /**
+     * @return 阶段耗时，单位为毫秒（保留小数）
+     */
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+}
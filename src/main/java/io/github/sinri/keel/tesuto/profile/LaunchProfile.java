@@ -0,0 +1,243 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 启动阶段耗时剖析。
+ * <p>
+ * 以单调时钟记录{@link LaunchPhase}中各阶段的耗时，并同时记录阶段内的类加载数、JIT 编译耗时与 GC 耗时。
+ * 各阶段可能在不同线程中开始与结束（如 Vertx 事件循环），故本类的记录方法均为线程安全的。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class LaunchProfile {
+    private final long jvmUptimeAtCreationMillis;
+    private final long creationNanos;
+    private final Map<LaunchPhase, Long> beginNanos = new EnumMap<>(LaunchPhase.class);
+    private final Map<LaunchPhase, Snapshot> openedPhases = new EnumMap<>(LaunchPhase.class);
+    private final Map<LaunchPhase, LaunchPhaseRecord> closedPhases = new EnumMap<>(LaunchPhase.class);
+    private long firstBeginNanos = -1;
+    private long lastEndNanos = -1;
+
+    public LaunchProfile() {
+        this.creationNanos = System.nanoTime();
+        this.jvmUptimeAtCreationMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * 标记一个阶段的开始。重复开始同一阶段时，以首次开始为准。
+     *
+     * @param phase 阶段
+     */
+    public synchronized void begin(LaunchPhase phase) {
+        if (openedPhases.containsKey(phase) || closedPhases.containsKey(phase)) {
+            return;
+        }
+        Snapshot snapshot = Snapshot.take();
+        openedPhases.put(phase, snapshot);
+        beginNanos.put(phase, snapshot.nanoTime);
+        if (firstBeginNanos < 0) {
+            firstBeginNanos = snapshot.nanoTime;
+        }
+    }
+
+    /**
+     * 标记一个阶段的结束。未开始或已结束的阶段将被忽略，以便在成功与失败分支中都可安全调用。
+     *
+     * @param phase 阶段
+     */
+    public synchronized void end(LaunchPhase phase) {
+        Snapshot begin = openedPhases.remove(phase);
+        if (begin == null) {
+            return;
+        }
+        Snapshot end = Snapshot.take();
+        closedPhases.put(phase, new LaunchPhaseRecord(
+                phase,
+                end.nanoTime - begin.nanoTime,
+                end.loadedClasses - begin.loadedClasses,
+                (begin.compilationMillis < 0 || end.compilationMillis < 0)
+                        ? -1
+                        : end.compilationMillis - begin.compilationMillis,
+                end.gcCount - begin.gcCount,
+                end.gcMillis - begin.gcMillis
+        ));
+        lastEndNanos = Math.max(lastEndNanos, end.nanoTime);
+    }
+
+    /**
+     * @return 本剖析对象创建时 JVM 已运行的时长，单位为毫秒；即进入 launch 之前 JVM 启动与主类加载的耗时
+     */
+    public long getJvmUptimeAtCreationMillis() {
+        return jvmUptimeAtCreationMillis;
+    }
+
+    /**
+     * 获取某阶段开始时 JVM 已运行的时长。
+     * <p>
+     * 以{@link LaunchPhase#RUN}为参数时，即为自 JVM 启动至正式逻辑开始执行的启动耗时。
+     *
+     * @param phase 阶段
+     * @return 该阶段开始时 JVM 已运行的时长，单位为毫秒；阶段尚未开始时为 -1
+     */
+    public synchronized long getJvmUptimeAtBeginMillis(LaunchPhase phase) {
+        Long nanos = beginNanos.get(phase);
+        if (nanos == null) {
+            return -1;
+        }
+        return jvmUptimeAtCreationMillis + (nanos - creationNanos) / 1_000_000L;
+    }
+
+    /**
+     * @param phase 阶段
+     * @return 该阶段的度量结果；阶段尚未结束时为 null
+     */
+    public synchronized @Nullable LaunchPhaseRecord getRecord(LaunchPhase phase) {
+        return closedPhases.get(phase);
+    }
+
+    /**
+     * @return 已结束的各阶段度量结果，按{@link LaunchPhase}的声明顺序排列
+     */
+    public synchronized List<LaunchPhaseRecord> getRecords() {
+        return new ArrayList<>(closedPhases.values());
+    }
+
+    /**
+     * @return 自首个阶段开始至最后一个阶段结束的总耗时，单位为纳秒；尚无已结束阶段时为 0
+     */
+    public synchronized long getTotalNanos() {
+        if (firstBeginNanos < 0 || lastEndNanos < 0) {
+            return 0;
+        }
+        return lastEndNanos - firstBeginNanos;
+    }
+
+    /**
+     * @return 可直接打印的阶段耗时分解表
+     */
+    public synchronized String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Launch phase breakdown (JVM uptime before launch: ")
+          .append(jvmUptimeAtCreationMillis).append(" ms)\n");
+        sb.append(String.format("%-24s %12s %8s %8s %6s %8s%n",
+                "PHASE", "ELAPSED(ms)", "CLASSES", "JIT(ms)", "GC(n)", "GC(ms)"));
+        long classes = 0;
+        long gcCount = 0;
+        long gcMillis = 0;
+        long compilationMillis = 0;
+        for (LaunchPhaseRecord record : closedPhases.values()) {
+            sb.append(String.format("%-24s %12.3f %8d %8s %6d %8d%n",
+                    record.phase().name(),
+                    record.elapsedMillis(),
+                    record.loadedClasses(),
+                    record.compilationMillis() < 0 ? "n/a" : String.valueOf(record.compilationMillis()),
+                    record.gcCount(),
+                    record.gcMillis()));
+            classes += record.loadedClasses();
+            gcCount += record.gcCount();
+            gcMillis += record.gcMillis();
+            if (compilationMillis >= 0) {
+                compilationMillis = record.compilationMillis() < 0 ? -1 : compilationMillis + record.compilationMillis();
+            }
+        }
+        sb.append(String.format("%-24s %12.3f %8d %8s %6d %8d",
+                "TOTAL",
+                getTotalNanos() / 1_000_000.0,
+                classes,
+                compilationMillis < 0 ? "n/a" : String.valueOf(compilationMillis),
+                gcCount,
+                gcMillis));
+        return sb.toString();
+    }
+
+    /**
+     * 将剖析结果以 properties 格式写入文件，供启动本进程的外部工具读取。
+     * <p>
+     * 写出的键包括{@code jvmUptimeAtCreationMillis}、{@code totalNanos}，
+     * 以及各阶段的{@code <阶段名>.beginUptimeMillis}、{@code <阶段名>.elapsedNanos}与{@code <阶段名>.loadedClasses}。
+     *
+     * @param file 目标文件，已存在时将被覆盖
+     * @throws IOException 写入失败时
+     */
+    public synchronized void writeTo(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("jvmUptimeAtCreationMillis", String.valueOf(jvmUptimeAtCreationMillis));
+        properties.setProperty("totalNanos", String.valueOf(getTotalNanos()));
+        for (LaunchPhase phase : beginNanos.keySet()) {
+            properties.setProperty(phase.name() + ".beginUptimeMillis", String.valueOf(getJvmUptimeAtBeginMillis(phase)));
+        }
+        for (LaunchPhaseRecord record : closedPhases.values()) {
+            properties.setProperty(record.phase().name() + ".elapsedNanos", String.valueOf(record.elapsedNanos()));
+            properties.setProperty(record.phase().name() + ".loadedClasses", String.valueOf(record.loadedClasses()));
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Keel launch profile");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+
+    private static final class Snapshot {
+        private final long nanoTime;
+        private final long loadedClasses;
+        private final long compilationMillis;
+        private final long gcCount;
+        private final long gcMillis;
+
+        private Snapshot(long nanoTime, long loadedClasses, long compilationMillis, long gcCount, long gcMillis) {
+            this.nanoTime = nanoTime;
+            this.loadedClasses = loadedClasses;
+            this.compilationMillis = compilationMillis;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        static Snapshot take() {
+            ClassLoadingMXBean classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
+            CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
+            long compilationMillis = -1;
+            if (compilationMXBean != null && compilationMXBean.isCompilationTimeMonitoringSupported()) {
+                compilationMillis = compilationMXBean.getTotalCompilationTime();
+            }
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                // 不可用时返回 -1
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            return new Snapshot(
+                    System.nanoTime(),
+                    classLoadingMXBean.getTotalLoadedClassCount(),
+                    compilationMillis,
+                    gcCount,
+                    gcMillis
+            );
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了 Keel 测试工具的运行期度量工具，如启动阶段耗时剖析。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.profile;
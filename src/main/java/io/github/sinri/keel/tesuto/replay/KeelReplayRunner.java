@@ -0,0 +1,107 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.github.sinri.keel.tesuto.KeelInstantRunner;
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+
+import java.nio.file.Path;
+
+/**
+ * 录制流量回放运行类。
+ * <p>
+ * 从磁盘流式读取录制日志（格式见{@link ReplayLogReader}），按选定的{@link ReplaySpeed}将每条记录交给
+ * {@link #replay(ReplayRecord)}处理，并按请求类型统计延迟与吞吐。
+ * <p>
+ * 录制日志按批在 worker 线程中读取，同时处理中的请求数不超过{@link #buildMaxInFlight()}，
+ * 待发出的记录不超过{@link #buildReadBatchSize()}条，因此堆内存占用与录制文件大小无关。
+ * <p>
+ * 默认以第一个命令行参数为录制日志路径，第二个命令行参数（可选）为回放速度，如：
+ * <pre>
+ * java MyReplayRunner /data/capture.log 2.0
+ * </pre>
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public abstract class KeelReplayRunner extends KeelInstantRunner {
+    private final ReplayStatistics replayStatistics = new ReplayStatistics();
+
+    /**
+     * 回放一条录制记录。
+     * <p>
+     * 本方法在事件循环中调用，不可阻塞。
+     *
+     * @param record 录制记录
+     * @return 该请求处理完成时的异步结果；失败将计入该类型的失败次数，但不会中断回放
+     */
+    abstract protected Future<Void> replay(ReplayRecord record);
+
+    /**
+     * @return 录制日志路径，默认取第一个命令行参数
+     */
+    protected Path buildReplayLogPath() {
+        if (getArgs().isEmpty()) {
+            throw new IllegalStateException("Replay log path is required as the first argument");
+        }
+        return Path.of(getArgs().get(0));
+    }
+
+    /**
+     * @return 回放速度，默认取第二个命令行参数，缺省时按原始时间间隔回放
+     * @see ReplaySpeed#parse(String)
+     */
+    protected ReplaySpeed buildReplaySpeed() {
+        if (getArgs().size() > 1) {
+            return ReplaySpeed.parse(getArgs().get(1));
+        }
+        return ReplaySpeed.original();
+    }
+
+    /**
+     * @return 同时处理中的请求数上限，默认 256
+     */
+    protected int buildMaxInFlight() {
+        return 256;
+    }
+
+    /**
+     * @return 每次从录制日志中读取的记录数，默认 1024
+     */
+    protected int buildReadBatchSize() {
+        return 1024;
+    }
+
+    /**
+     * @return 回放过程中的统计；回放进行中时为截至当前的统计
+     */
+    public final ReplayStatistics getReplayStatistics() {
+        return replayStatistics;
+    }
+
+    /**
+     * 在回放结束后输出统计结果。
+     * <p>
+     * 默认以 INFO 级别将统计表写入日志；重载此方法以另行收集或校验统计结果。
+     *
+     * @param replayStatistics 回放统计
+     */
+    protected void reportReplayStatistics(ReplayStatistics replayStatistics) {
+        getLogger().info(replayStatistics.toReport());
+    }
+
+    @Override
+    protected final Future<Void> run() throws Exception {
+        Path path = buildReplayLogPath();
+        ReplaySpeed speed = buildReplaySpeed();
+        getLogger().info("Replaying " + path + " at speed " + speed);
+        return getKeel().executeBlocking(() -> new ReplayLogReader(path))
+                        .compose(reader -> new ReplayPump(getKeel(), reader, speed, buildMaxInFlight(), buildReadBatchSize(),
+                                this::replay, replayStatistics)
+                                .start()
+                                .eventually(() -> getKeel().executeBlocking(() -> {
+                                    reader.close();
+                                    return null;
+                                })))
+                        .andThen(ar -> reportReplayStatistics(replayStatistics));
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.vertx.core.buffer.Buffer;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 录制日志的流式读取器。
+ * <p>
+ * 录制日志为 UTF-8 文本，每行一条记录，以制表符分隔三列：
+ * <pre>
+ * 时间戳（毫秒）\t请求类型\t请求内容
+ * </pre>
+ * 请求内容为该行余下的全部内容，不可包含换行符（二进制内容请先行编码，如 Base64）。
+ * 空行及以{@code #}开头的行将被忽略。
+ * <p>
+ * 文件按固定大小的窗口分段以内存映射方式读取，仅当前窗口映射在地址空间中，
+ * 堆上只保留当前读出的记录，可用于处理远大于堆内存的录制文件。
+ * <p>
+ * 本类不是线程安全的；读取为阻塞操作，在 Vertx 中应于 worker 线程中调用。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class ReplayLogReader implements Closeable {
+    /**
+     * 默认映射窗口大小，64 MiB。
+     */
+    public static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private @Nullable MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public ReplayLogReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param path       录制日志文件
+     * @param windowSize 映射窗口大小，单位为字节；单行超过窗口大小时窗口将临时扩大
+     * @throws IOException 打开文件失败时
+     */
+    public ReplayLogReader(Path path, long windowSize) throws IOException {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize must be in (0, " + Integer.MAX_VALUE + "]");
+        }
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return 下一条记录；已读到文件末尾时为 null
+     * @throws IOException 读取失败或记录格式不正确时
+     */
+    public @Nullable ReplayRecord next() throws IOException {
+        while (position < fileSize) {
+            long lineStart = position;
+            long lineEnd = findLineEnd();
+            position = lineEnd + 1;
+
+            int length = (int) (lineEnd - lineStart);
+            byte[] line = new byte[length];
+            currentWindow().get((int) (lineStart - windowStart), line, 0, length);
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            if (length == 0 || line[0] == '#') {
+                continue;
+            }
+            return parse(line, length, lineStart);
+        }
+        return null;
+    }
+
+    /**
+     * @param maxRecords 最多读取的记录数
+     * @return 按文件顺序读出的记录；已读到文件末尾时为空列表
+     * @throws IOException 读取失败或记录格式不正确时
+     */
+    public List<ReplayRecord> nextBatch(int maxRecords) throws IOException {
+        List<ReplayRecord> batch = new ArrayList<>(maxRecords);
+        while (batch.size() < maxRecords) {
+            ReplayRecord record = next();
+            if (record == null) {
+                break;
+            }
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    /**
+     * @return 已读取的字节数，可结合{@link #getFileSize()}计算进度
+     */
+    public long getPosition() {
+        return Math.min(position, fileSize);
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * 从当前位置起查找行尾，必要时移动或扩大映射窗口，使整行位于窗口之内。
+     *
+     * @return 换行符在文件中的位置；最后一行无换行符时为文件大小
+     */
+    private long findLineEnd() throws IOException {
+        long mapSize = windowSize;
+        if (window == null || position >= windowStart + window.limit()) {
+            map(position, mapSize);
+        }
+        while (true) {
+            MappedByteBuffer current = currentWindow();
+            int limit = current.limit();
+            for (int i = (int) (position - windowStart); i < limit; i++) {
+                if (current.get(i) == '\n') {
+                    return windowStart + i;
+                }
+            }
+            if (windowStart + limit >= fileSize) {
+                return fileSize;
+            }
+            if (windowStart == position) {
+                mapSize *= 2;
+                if (mapSize > Integer.MAX_VALUE) {
+                    throw new IOException("Line at offset " + position + " of " + path + " is too long");
+                }
+            }
+            map(position, mapSize);
+        }
+    }
+
+    private void map(long start, long size) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+    }
+
+    private MappedByteBuffer currentWindow() {
+        MappedByteBuffer current = window;
+        if (current == null) {
+            throw new IllegalStateException("No window mapped");
+        }
+        return current;
+    }
+
+    private ReplayRecord parse(byte[] line, int length, long offset) throws IOException {
+        int firstTab = indexOf(line, length, 0);
+        int secondTab = firstTab < 0 ? -1 : indexOf(line, length, firstTab + 1);
+        if (secondTab < 0) {
+            throw new IOException("Malformed record at offset " + offset + " of " + path + ": expected 3 tab-separated columns");
+        }
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(new String(line, 0, firstTab, StandardCharsets.US_ASCII).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed timestamp at offset " + offset + " of " + path, e);
+        }
+        String type = new String(line, firstTab + 1, secondTab - firstTab - 1, StandardCharsets.UTF_8);
+        Buffer payload = Buffer.buffer(Arrays.copyOfRange(line, secondTab + 1, length));
+        return new ReplayRecord(timestamp, type, payload);
+    }
+
+    private static int indexOf(byte[] line, int length, int from) {
+        for (int i = from; i < length; i++) {
+            if (line[i] == '\t') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
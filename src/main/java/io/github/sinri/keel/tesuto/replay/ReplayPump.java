@@ -0,0 +1,153 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 回放的调度：按批读取录制记录，按回放速度定时发出，并限制同时处理中的请求数。
+ * <p>
+ * 调度状态仅在创建本对象时所取得的 Vertx 上下文中读写。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+final class ReplayPump {
+    private final Vertx vertx;
+    private final ReplayLogReader reader;
+    private final ReplaySpeed speed;
+    private final int maxInFlight;
+    private final int readBatchSize;
+    private final Function<ReplayRecord, Future<Void>> replay;
+    private final ReplayStatistics replayStatistics;
+    private final Context context;
+    private final Deque<ReplayRecord> pending = new ArrayDeque<>();
+    private final Promise<Void> promise = Promise.promise();
+    private int inFlight = 0;
+    private boolean reading = false;
+    private boolean exhausted = false;
+    private boolean timerScheduled = false;
+    private long startNanos;
+    private long firstTimestamp;
+    private boolean firstSeen = false;
+
+    /**
+     * @param vertx            用于定时、读取与调度的 Vertx 实例
+     * @param reader           录制日志读取器，由调用方负责关闭
+     * @param speed            回放速度
+     * @param maxInFlight      同时处理中的请求数上限
+     * @param readBatchSize    每次读取的记录数；待发出的记录不足一半时读取下一批
+     * @param replay           回放一条记录
+     * @param replayStatistics 回放统计
+     */
+    ReplayPump(
+            Vertx vertx,
+            ReplayLogReader reader,
+            ReplaySpeed speed,
+            int maxInFlight,
+            int readBatchSize,
+            Function<ReplayRecord, Future<Void>> replay,
+            ReplayStatistics replayStatistics
+    ) {
+        this.vertx = vertx;
+        this.reader = reader;
+        this.speed = speed;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.readBatchSize = Math.max(1, readBatchSize);
+        this.replay = replay;
+        this.replayStatistics = replayStatistics;
+        this.context = vertx.getOrCreateContext();
+    }
+
+    /**
+     * @return 所有记录均已回放完毕时完成；读取录制日志失败时失败
+     */
+    Future<Void> start() {
+        context.runOnContext(v -> {
+            replayStatistics.markStart();
+            startNanos = System.nanoTime();
+            pump();
+        });
+        return promise.future();
+    }
+
+    private void pump() {
+        if (promise.future().isComplete()) {
+            return;
+        }
+        while (inFlight < maxInFlight && !pending.isEmpty()) {
+            ReplayRecord record = pending.peekFirst();
+            if (!firstSeen) {
+                firstSeen = true;
+                firstTimestamp = record.timestamp();
+            }
+            long dueNanos = startNanos + speed.scheduleOffsetNanos(record.timestamp() - firstTimestamp);
+            long now = System.nanoTime();
+            if (speed.isPaced() && dueNanos - now >= 1_000_000L) {
+                if (!timerScheduled) {
+                    timerScheduled = true;
+                    vertx.setTimer((dueNanos - now) / 1_000_000L, id -> context.runOnContext(v -> {
+                        timerScheduled = false;
+                        pump();
+                    }));
+                }
+                break;
+            }
+            pending.pollFirst();
+            if (speed.isPaced()) {
+                replayStatistics.recordScheduleLag(now - dueNanos);
+            }
+            dispatch(record);
+        }
+
+        if (!reading && !exhausted && pending.size() <= readBatchSize / 2) {
+            reading = true;
+            vertx.executeBlocking(() -> reader.nextBatch(readBatchSize))
+                 .onComplete(ar -> context.runOnContext(v -> {
+                     reading = false;
+                     if (ar.failed()) {
+                         replayStatistics.markEnd();
+                         promise.tryFail(ar.cause());
+                         return;
+                     }
+                     List<ReplayRecord> batch = ar.result();
+                     if (batch.isEmpty()) {
+                         exhausted = true;
+                     }
+                     pending.addAll(batch);
+                     pump();
+                 }));
+        }
+
+        if (exhausted && pending.isEmpty() && inFlight == 0) {
+            replayStatistics.markEnd();
+            promise.tryComplete();
+        }
+    }
+
+    private void dispatch(ReplayRecord record) {
+        inFlight++;
+        long begin = System.nanoTime();
+        Future<Void> future;
+        try {
+            future = replay.apply(record);
+        } catch (Throwable throwable) {
+            future = Future.failedFuture(throwable);
+        }
+        future.onComplete(ar -> {
+            long latencyNanos = System.nanoTime() - begin;
+            context.runOnContext(v -> {
+                inFlight--;
+                replayStatistics.record(record.type(), latencyNanos, ar.succeeded());
+                pump();
+            });
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.vertx.core.buffer.Buffer;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 录制日志中的一条请求记录。
+ *
+ * @param timestamp 录制时的时间戳，单位为毫秒
+ * @param type      请求类型，用于分类统计延迟与吞吐
+ * @param payload   请求内容
+ * @since 5.0.3
+ */
+@NullMarked
+public record ReplayRecord(long timestamp, String type, Buffer payload) {
+}
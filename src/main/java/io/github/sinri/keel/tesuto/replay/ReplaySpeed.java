@@ -0,0 +1,95 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 回放速度。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class ReplaySpeed {
+    private static final ReplaySpeed ORIGINAL = new ReplaySpeed(1.0);
+    private static final ReplaySpeed AS_FAST_AS_POSSIBLE = new ReplaySpeed(Double.POSITIVE_INFINITY);
+
+    private final double factor;
+
+    private ReplaySpeed(double factor) {
+        this.factor = factor;
+    }
+
+    /**
+     * @return 按录制时的原始时间间隔回放
+     */
+    public static ReplaySpeed original() {
+        return ORIGINAL;
+    }
+
+    /**
+     * @param factor 倍速，如 2.0 表示以两倍速回放（时间间隔减半），0.5 表示以半速回放
+     * @return 按比例缩放时间间隔回放
+     */
+    public static ReplaySpeed scaled(double factor) {
+        if (!(factor > 0)) {
+            throw new IllegalArgumentException("factor must be positive");
+        }
+        return new ReplaySpeed(factor);
+    }
+
+    /**
+     * @return 忽略时间间隔，在并发上限内尽快回放
+     */
+    public static ReplaySpeed asFastAsPossible() {
+        return AS_FAST_AS_POSSIBLE;
+    }
+
+    /**
+     * 解析命令行中的回放速度。
+     *
+     * @param expression {@code original}、{@code max}，或表示倍速的数字如{@code 2.5}
+     * @return 回放速度
+     */
+    public static ReplaySpeed parse(String expression) {
+        String s = expression.trim();
+        if (s.equalsIgnoreCase("original")) {
+            return original();
+        }
+        if (s.equalsIgnoreCase("max")) {
+            return asFastAsPossible();
+        }
+        try {
+            return scaled(Double.parseDouble(s.endsWith("x") ? s.substring(0, s.length() - 1) : s));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown replay speed: " + expression, e);
+        }
+    }
+
+    /**
+     * @return 是否需要按录制时间间隔控制节奏
+     */
+    public boolean isPaced() {
+        return !Double.isInfinite(factor);
+    }
+
+    /**
+     * @param elapsedSinceFirstMillis 记录时间戳相对首条记录的偏移，单位为毫秒
+     * @return 该记录相对回放开始时刻应被发出的偏移，单位为纳秒
+     */
+    public long scheduleOffsetNanos(long elapsedSinceFirstMillis) {
+        if (!isPaced()) {
+            return 0;
+        }
+        return (long) (elapsedSinceFirstMillis * 1_000_000.0 / factor);
+    }
+
+    @Override
+    public String toString() {
+        if (this == ORIGINAL) {
+            return "original";
+        }
+        if (!isPaced()) {
+            return "max";
+        }
+        return factor + "x";
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.github.sinri.keel.tesuto.profile.LatencyHistogram;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 回放过程中按请求类型统计的延迟与吞吐。
+ * <p>
+ * 延迟为调用回放处理方法至其返回的 Future 完成的耗时；吞吐为完成数除以整个回放过程的耗时。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class ReplayStatistics {
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final AtomicLong maxScheduleLagNanos = new AtomicLong();
+    private volatile long startNanos = -1;
+    private volatile long endNanos = -1;
+
+    void markStart() {
+        startNanos = System.nanoTime();
+    }
+
+    void markEnd() {
+        endNanos = System.nanoTime();
+    }
+
+    void record(String type, long latencyNanos, boolean succeeded) {
+        latencies.computeIfAbsent(type, x -> new LatencyHistogram()).record(latencyNanos);
+        if (!succeeded) {
+            failures.computeIfAbsent(type, x -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    void recordScheduleLag(long lagNanos) {
+        maxScheduleLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    /**
+     * @return 已出现的请求类型
+     */
+    public Set<String> getTypes() {
+        return new TreeMap<>(latencies).keySet();
+    }
+
+    /**
+     * @param type 请求类型
+     * @return 该类型的延迟直方图；未出现的类型返回空直方图
+     */
+    public LatencyHistogram getLatency(String type) {
+        return latencies.getOrDefault(type, new LatencyHistogram());
+    }
+
+    /**
+     * @return 所有类型合并后的延迟直方图
+     */
+    public LatencyHistogram getOverallLatency() {
+        LatencyHistogram overall = new LatencyHistogram();
+        latencies.values().forEach(overall::merge);
+        return overall;
+    }
+
+    /**
+     * @param type 请求类型
+     * @return 该类型的失败次数
+     */
+    public long getFailureCount(String type) {
+        AtomicLong counter = failures.get(type);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * @return 回放耗时，单位为纳秒；回放进行中时为截至当前的耗时
+     */
+    public long getElapsedNanos() {
+        if (startNanos < 0) {
+            return 0;
+        }
+        return (endNanos < 0 ? System.nanoTime() : endNanos) - startNanos;
+    }
+
+    /**
+     * @param type 请求类型
+     * @return 该类型的吞吐，单位为请求每秒
+     */
+    public double getThroughput(String type) {
+        long elapsedNanos = getElapsedNanos();
+        return elapsedNanos == 0 ? 0 : getLatency(type).getCount() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return 按录制节奏回放时，实际发出时刻落后于计划时刻的最大值，单位为纳秒；
+     *         持续偏大说明被测逻辑或回放并发上限跟不上录制时的流量
+     */
+    public long getMaxScheduleLagNanos() {
+        return maxScheduleLagNanos.get();
+    }
+
+    /**
+     * @return 可直接打印的统计表
+     */
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Replay finished in %.3f s, max schedule lag %.3f ms%n",
+                getElapsedNanos() / 1e9, getMaxScheduleLagNanos() / 1e6));
+        sb.append(String.format("%-24s %10s %8s %10s %10s %10s %10s %10s%n",
+                "TYPE", "COUNT", "FAILED", "RPS", "MEAN(ms)", "P50(ms)", "P99(ms)", "MAX(ms)"));
+        for (String type : getTypes()) {
+            appendRow(sb, type, getLatency(type), getFailureCount(type), getThroughput(type));
+        }
+        LatencyHistogram overall = getOverallLatency();
+        long elapsedNanos = getElapsedNanos();
+        appendRow(sb, "(all)", overall,
+                failures.values().stream().mapToLong(AtomicLong::get).sum(),
+                elapsedNanos == 0 ? 0 : overall.getCount() * 1e9 / elapsedNanos);
+        return sb.toString().stripTrailing();
+    }
+
+    private static void appendRow(StringBuilder sb, String type, LatencyHistogram latency, long failed, double throughput) {
+        sb.append(String.format("%-24s %10d %8d %10.1f %10.3f %10.3f %10.3f %10.3f%n",
+                type,
+                latency.getCount(),
+                failed,
+                throughput,
+                latency.getMeanNanos() / 1e6,
+                latency.getValueAtPercentile(50) / 1e6,
+                latency.getValueAtPercentile(99) / 1e6,
+                latency.getMaxNanos() / 1e6));
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * 按历史耗时从长到短排列测试类的{@link ClassOrderer}，使耗时长的类尽早开始，缩短并行执行时的尾部等待。
+ * <p>
+ * 没有历史耗时的类排在最前（其耗时未知，尽早运行以免成为尾部），其余按{@link TestClassDurations}记录的耗时降序，
+ * 耗时相同时按类名排序。通过配置参数启用：
+ * <pre>
+ * junit.jupiter.testclass.order.default=io.github.sinri.keel.tesuto.shard.DurationAwareClassOrderer
+ * </pre>
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class DurationAwareClassOrderer implements ClassOrderer {
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        Map<String, Long> durations = TestClassDurations.snapshot(
+                TestClassDurations.resolveFile(context::getConfigurationParameter));
+        context.getClassDescriptors().sort(
+                Comparator.comparingLong((ClassDescriptor descriptor) ->
+                                  durations.getOrDefault(descriptor.getTestClass().getName(), Long.MAX_VALUE))
+                          .reversed()
+                          .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import io.github.sinri.keel.logger.api.factory.LoggerFactory;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 记录测试类耗时的 JUnit 5 扩展。
+ * <p>
+ * 耗时为该类的{@code BeforeAllCallback}至{@code AfterAllCallback}之间的挂钟时间，
+ * 包含类中所有{@code @BeforeAll}、测试方法、{@code @Nested}内部类及{@code @AfterAll}，写入{@link TestClassDurations}所述的记录文件；
+ * 内部类不单独记录。记录文件写入失败时仅输出警告，不影响测试结果。
+ * 配置参数（或同名系统属性）{@value #PARAM_RECORD}为{@code false}时不记录。
+ * <p>
+ * {@link io.github.sinri.keel.tesuto.KeelJUnit5Test}已注册本扩展。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class TestClassDurationRecorder implements BeforeAllCallback, AfterAllCallback {
+    /**
+     * 控制是否记录耗时的配置参数名，默认记录。
+     */
+    public static final String PARAM_RECORD = "keel.test.durations.record";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TestClassDurationRecorder.class);
+    private static final String START_NANOS = "startNanos";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!TestShardCondition.isTopLevelClass(context)) {
+            return;
+        }
+        context.getStore(NAMESPACE).put(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Long startNanos = context.getStore(NAMESPACE).remove(START_NANOS, Long.class);
+        if (startNanos == null || !context.getConfigurationParameter(PARAM_RECORD, Boolean::parseBoolean).orElse(true)) {
+            return;
+        }
+        long millis = (System.nanoTime() - startNanos) / 1_000_000L;
+
+        Path file = TestClassDurations.resolveFile(context::getConfigurationParameter);
+        TestShardPlan.Settings settings = TestShardPlan.Settings.from(context::getConfigurationParameter);
+        if (settings != null) {
+            file = TestClassDurations.shardFile(file, settings.index());
+        }
+        String className = context.getRequiredTestClass().getName();
+        try {
+            TestClassDurations.merge(file, Map.of(className, millis));
+        } catch (IOException e) {
+            Path failedFile = file;
+            LoggerFactory.getShared()
+                         .createLogger(TestClassDurationRecorder.class.getName())
+                         .warning(log -> log.message("Failed to record duration of " + className + " to " + failedFile)
+                                            .exception(e));
+        }
+    }
+}
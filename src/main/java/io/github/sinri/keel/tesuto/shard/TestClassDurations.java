@@ -0,0 +1,175 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 测试类耗时记录文件的读写。
+ * <p>
+ * 记录文件为 properties 格式，键为测试类的全限定名，值为该类最近一次运行的耗时（毫秒），按类名排序写出。
+ * 记录文件由测试运行生成，不宜纳入版本管理；需要在多次或多个 CI 任务间沿用时，应将其保存于 CI 缓存中。
+ * 文件路径由配置参数（或同名系统属性）{@value #PARAM_DURATIONS_FILE}指定，
+ * 默认为工作目录下的{@value #DEFAULT_DURATIONS_FILE}。
+ * <p>
+ * 分片运行时，各分片的记录写入{@code <记录文件>.shard<分片序号>}，不修改记录文件本身，
+ * 以保证各分片读取到相同的历史耗时、得出一致的分片方案；可在所有分片结束后用{@link #mergeShards(Path)}合并。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class TestClassDurations {
+    /**
+     * 指定记录文件路径的配置参数名。
+     */
+    public static final String PARAM_DURATIONS_FILE = "keel.test.durations.file";
+    /**
+     * 记录文件的默认路径。
+     */
+    public static final String DEFAULT_DURATIONS_FILE = "keel-test-durations.properties";
+
+    private static final Map<Path, Map<String, Long>> snapshots = new ConcurrentHashMap<>();
+
+    private TestClassDurations() {
+    }
+
+    /**
+     * @param configuration 读取配置参数的方式，如{@code ExtensionContext::getConfigurationParameter}
+     * @return 记录文件路径
+     */
+    public static Path resolveFile(Function<String, Optional<String>> configuration) {
+        return Path.of(configuration.apply(PARAM_DURATIONS_FILE).orElse(DEFAULT_DURATIONS_FILE)).toAbsolutePath();
+    }
+
+    /**
+     * 获取记录文件在本 JVM 中首次读取时的内容。
+     * <p>
+     * 排序与分片均基于此快照，本次运行中新写入的记录不会影响本次运行。
+     *
+     * @param file 记录文件
+     * @return 类名到耗时（毫秒）的只读映射；文件不存在或无法读取时为空
+     */
+    public static Map<String, Long> snapshot(Path file) {
+        return snapshots.computeIfAbsent(file, f -> {
+            try {
+                return Collections.unmodifiableMap(load(f));
+            } catch (IOException e) {
+                return Map.of();
+            }
+        });
+    }
+
+    /**
+     * @param file 记录文件
+     * @return 类名到耗时（毫秒）的映射；文件不存在时为空
+     * @throws IOException 读取失败时
+     */
+    public static Map<String, Long> load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 将耗时记录合并写入记录文件，同名类的旧记录被覆盖。
+     * <p>
+     * 读改写过程持有文件锁，多个测试 JVM 可同时写入同一文件。
+     *
+     * @param file    记录文件
+     * @param updates 类名到耗时（毫秒）的新记录
+     * @throws IOException 读写失败时
+     */
+    public static synchronized void merge(Path file, Map<String, Long> updates) throws IOException {
+        Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+             FileLock ignored = channel.lock()) {
+            ByteBuffer existing = ByteBuffer.allocate((int) channel.size());
+            while (existing.hasRemaining() && channel.read(existing, existing.position()) > 0) {
+                // 读满为止
+            }
+            Map<String, Long> durations = parse(new String(existing.array(), 0, existing.position(), StandardCharsets.UTF_8));
+            durations.putAll(updates);
+            channel.truncate(0);
+            ByteBuffer content = ByteBuffer.wrap(format(durations).getBytes(StandardCharsets.UTF_8));
+            while (content.hasRemaining()) {
+                channel.write(content, content.position());
+            }
+        }
+    }
+
+    /**
+     * 将各分片的记录文件合并入记录文件，并删除分片记录文件。
+     *
+     * @param file 记录文件
+     * @return 合并的分片记录文件数
+     * @throws IOException 读写失败时
+     */
+    public static int mergeShards(Path file) throws IOException {
+        Path directory = file.getParent() == null ? Path.of(".") : file.getParent();
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        String prefix = file.getFileName() + ".shard";
+        List<Path> shardFiles = new ArrayList<>();
+        try (var stream = Files.list(directory)) {
+            stream.filter(p -> p.getFileName().toString().startsWith(prefix)).sorted().forEach(shardFiles::add);
+        }
+        for (Path shardFile : shardFiles) {
+            merge(file, load(shardFile));
+            Files.delete(shardFile);
+        }
+        return shardFiles.size();
+    }
+
+    /**
+     * 在命令行中合并分片记录文件，供构建脚本在所有分片结束后调用。
+     *
+     * @param args 可选的记录文件路径
+     * @throws IOException 读写失败时
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : DEFAULT_DURATIONS_FILE).toAbsolutePath();
+        int merged = mergeShards(file);
+        System.out.println("Merged " + merged + " shard duration file(s) into " + file);
+    }
+
+    static Path shardFile(Path file, int shardIndex) {
+        return file.resolveSibling(file.getFileName() + ".shard" + shardIndex);
+    }
+
+    private static Map<String, Long> parse(String content) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(content));
+        Map<String, Long> durations = new TreeMap<>();
+        for (String className : properties.stringPropertyNames()) {
+            try {
+                durations.put(className, Long.parseLong(properties.getProperty(className).trim()));
+            } catch (NumberFormatException e) {
+                // 忽略无法解析的行
+            }
+        }
+        return durations;
+    }
+
+    private static String format(Map<String, Long> durations) {
+        StringBuilder sb = new StringBuilder("# Wall-clock duration (ms) of each test class, recorded by keel-test\n");
+        new TreeMap<>(durations).forEach((className, millis) -> sb.append(className).append('=').append(millis).append('\n'));
+        return sb.toString();
+    }
+}
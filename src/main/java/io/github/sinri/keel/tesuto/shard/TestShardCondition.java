@@ -0,0 +1,62 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 测试类分片执行条件。
+ * <p>
+ * 配置参数（或同名系统属性）{@code keel.test.shard.count}为分片总数、{@code keel.test.shard.index}为当前分片序号（从 0 开始）时，
+ * 仅执行分配到当前分片的测试类；未配置时不做任何限制。
+ * 分片方案依据{@link TestClassDurations}记录的历史耗时均衡各分片的总耗时。
+ * 分片以顶层测试类为单位，{@code @Nested}内部类随其外部类执行，不单独分片。
+ * <p>
+ * {@link io.github.sinri.keel.tesuto.KeelJUnit5Test}已注册本扩展；其他测试类可通过
+ * {@code @ExtendWith(TestShardCondition.class)}参与分片。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class TestShardCondition implements ExecutionCondition {
+    private static final Map<String, TestShardPlan> plans = new ConcurrentHashMap<>();
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (context.getTestClass().isEmpty() || context.getTestMethod().isPresent()) {
+            return ConditionEvaluationResult.enabled("Sharding applies to test classes only");
+        }
+        if (!isTopLevelClass(context)) {
+            // 外部类已按其所在分片启用或禁用，内部类不可再独立判定，否则可能在任何分片中都不执行
+            return ConditionEvaluationResult.enabled("Sharding applies to top-level test classes only");
+        }
+        TestShardPlan.Settings settings = TestShardPlan.Settings.from(context::getConfigurationParameter);
+        if (settings == null) {
+            return ConditionEvaluationResult.enabled("Sharding is not configured");
+        }
+        Path file = TestClassDurations.resolveFile(context::getConfigurationParameter);
+        TestShardPlan plan = plans.computeIfAbsent(file + "#" + settings.count(),
+                key -> new TestShardPlan(TestClassDurations.snapshot(file), settings.count()));
+
+        String className = context.getRequiredTestClass().getName();
+        int shard = plan.shardOf(className);
+        if (shard == settings.index()) {
+            return ConditionEvaluationResult.enabled(className + " belongs to shard " + shard);
+        }
+        return ConditionEvaluationResult.disabled(className + " belongs to shard " + shard
+                + ", current shard is " + settings.index() + "/" + settings.count());
+    }
+
+    /**
+     * @param context 测试类的扩展上下文
+     * @return 是否为顶层测试类，即其父上下文为测试引擎；{@code @Nested}内部类的父上下文为其外部类
+     */
+    static boolean isTopLevelClass(ExtensionContext context) {
+        return context.getParent().flatMap(ExtensionContext::getParent).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 测试类的分片方案。
+ * <p>
+ * 有历史耗时的类按耗时从长到短依次分配到当前累计耗时最少的分片（LPT 贪心），
+ * 没有历史耗时的类按类名哈希分配。各分片只要读取到相同的历史耗时，即得出相同的方案。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+final class TestShardPlan {
+    static final String PARAM_SHARD_INDEX = "keel.test.shard.index";
+    static final String PARAM_SHARD_COUNT = "keel.test.shard.count";
+
+    private final int shardCount;
+    private final Map<String, Integer> assignments = new HashMap<>();
+
+    TestShardPlan(Map<String, Long> durations, int shardCount) {
+        this.shardCount = shardCount;
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(durations.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        long[] loads = new long[shardCount];
+        for (Map.Entry<String, Long> entry : entries) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            loads[lightest] += entry.getValue();
+            assignments.put(entry.getKey(), lightest);
+        }
+    }
+
+    int shardOf(String className) {
+        Integer assigned = assignments.get(className);
+        if (assigned != null) {
+            return assigned;
+        }
+        return Math.floorMod(className.hashCode(), shardCount);
+    }
+
+    /**
+     * 分片配置。
+     *
+     * @param index 当前分片序号，从 0 开始
+     * @param count 分片总数
+     */
+    record Settings(int index, int count) {
+        /**
+         * @param configuration 读取配置参数的方式
+         * @return 分片配置；未配置分片或分片总数不大于 1 时为 null
+         */
+        static @Nullable Settings from(Function<String, Optional<String>> configuration) {
+            Optional<String> count = configuration.apply(PARAM_SHARD_COUNT);
+            Optional<String> index = configuration.apply(PARAM_SHARD_INDEX);
+            if (count.isEmpty() || index.isEmpty()) {
+                return null;
+            }
+            int shardCount = Integer.parseInt(count.get().trim());
+            int shardIndex = Integer.parseInt(index.get().trim());
+            if (shardCount <= 1) {
+                return null;
+            }
+            if (shardIndex < 0 || shardIndex >= shardCount) {
+                throw new IllegalArgumentException(PARAM_SHARD_INDEX + " must be in [0, " + shardCount + ")");
+            }
+            return new Settings(shardIndex, shardCount);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了按测试类历史耗时排序与分片执行的 JUnit 5 扩展。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.shard;
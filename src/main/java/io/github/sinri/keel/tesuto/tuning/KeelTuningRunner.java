@@ -0,0 +1,64 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.github.sinri.keel.tesuto.KeelInstantRunner;
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 自动调优运行类。
+ * <p>
+ * 以{@link #buildVertxOptions()}与{@link #buildDeploymentOptions()}为基础，在{@link #buildTuningSpace()}给出的配置空间中，
+ * 针对{@link #buildTuningWorkload()}给出的负载与{@link #buildTuningObjective()}给出的目标搜索最佳配置，
+ * 结束后输出各轮试验结果与最佳配置。
+ * <p>
+ * 运行器自身的 Vertx 实例仅用于调度，每次试验均以候选配置新建独立的 Vertx 实例。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public abstract class KeelTuningRunner extends KeelInstantRunner {
+    /**
+     * @return 待搜索的配置空间
+     */
+    abstract protected TuningSpace buildTuningSpace();
+
+    /**
+     * @return 每次试验中施加的负载
+     */
+    abstract protected TuningWorkload buildTuningWorkload();
+
+    /**
+     * @return 调优目标，如{@link TuningObjective#maximizeThroughputWithP99Under(java.time.Duration)}
+     */
+    abstract protected TuningObjective buildTuningObjective();
+
+    /**
+     * @return 调优器，默认为参数取默认值的{@link SuccessiveHalvingTuner}
+     */
+    protected SuccessiveHalvingTuner buildTuner() {
+        return new SuccessiveHalvingTuner();
+    }
+
+    /**
+     * 在搜索结束后输出调优结果。
+     * <p>
+     * 默认以 INFO 级别将结果写入日志；重载此方法以另行保存最佳配置。
+     *
+     * @param tuningResult 调优结果
+     */
+    protected void reportTuningResult(TuningResult tuningResult) {
+        getLogger().info(tuningResult.toReport());
+    }
+
+    @Override
+    protected final Future<Void> run() throws Exception {
+        return buildTuner()
+                .setLogger(getLogger())
+                .search(buildTuningSpace(), buildTuningWorkload(), buildTuningObjective(),
+                        buildVertxOptions(), buildDeploymentOptions())
+                .compose(tuningResult -> {
+                    reportTuningResult(tuningResult);
+                    return Future.succeededFuture();
+                });
+    }
+}
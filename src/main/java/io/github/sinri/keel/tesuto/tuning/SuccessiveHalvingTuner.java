@@ -0,0 +1,196 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.github.sinri.keel.logger.api.logger.Logger;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * 以逐次减半（successive halving）策略搜索配置空间的调优器。
+ * <p>
+ * 首轮以最短的度量时长试验所有候选配置（候选过多时随机抽取{@link #setMaxCandidates(int)}个），
+ * 每轮仅保留分数最高的 1/eta，并将度量时长乘以 eta，直至只剩一个候选或达到最长度量时长。
+ * 相比网格搜索，总试验时长约为{@code 候选数 × 最短时长 × 轮数}，且把时间集中在有希望的配置上。
+ * <p>
+ * 每次试验都以候选配置新建独立的 Vertx 实例，试验之间串行进行，互不干扰。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class SuccessiveHalvingTuner {
+    private int maxCandidates = 27;
+    private int eta = 3;
+    private long warmupMillis = 1000;
+    private long minMeasureMillis = 2000;
+    private long maxMeasureMillis = 18000;
+    private long seed = 0;
+    private @Nullable Logger logger;
+
+    /**
+     * @param maxCandidates 首轮参与试验的候选配置上限，默认 27
+     */
+    public SuccessiveHalvingTuner setMaxCandidates(int maxCandidates) {
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("maxCandidates must be positive");
+        }
+        this.maxCandidates = maxCandidates;
+        return this;
+    }
+
+    /**
+     * @param eta 每轮淘汰比例的倒数，同时也是度量时长的增长倍数，默认 3
+     */
+    public SuccessiveHalvingTuner setEta(int eta) {
+        if (eta < 2) {
+            throw new IllegalArgumentException("eta must be at least 2");
+        }
+        this.eta = eta;
+        return this;
+    }
+
+    /**
+     * @param warmupMillis 每次试验的预热时长，单位为毫秒，默认 1000
+     */
+    public SuccessiveHalvingTuner setWarmupMillis(long warmupMillis) {
+        this.warmupMillis = Math.max(0, warmupMillis);
+        return this;
+    }
+
+    /**
+     * @param minMeasureMillis 首轮试验的度量时长，单位为毫秒，默认 2000
+     * @param maxMeasureMillis 单次试验度量时长的上限，单位为毫秒，默认 18000
+     */
+    public SuccessiveHalvingTuner setMeasureMillis(long minMeasureMillis, long maxMeasureMillis) {
+        if (minMeasureMillis <= 0 || maxMeasureMillis < minMeasureMillis) {
+            throw new IllegalArgumentException("Require 0 < minMeasureMillis <= maxMeasureMillis");
+        }
+        this.minMeasureMillis = minMeasureMillis;
+        this.maxMeasureMillis = maxMeasureMillis;
+        return this;
+    }
+
+    /**
+     * @param seed 候选过多时随机抽取所用的种子，默认 0，保证多次运行抽取结果一致
+     */
+    public SuccessiveHalvingTuner setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @param logger 用于输出每次试验进度的 Logger，默认不输出
+     */
+    public SuccessiveHalvingTuner setLogger(@Nullable Logger logger) {
+        this.logger = logger;
+        return this;
+    }
+
+    /**
+     * 执行搜索。
+     *
+     * @param space                 配置空间
+     * @param workload              负载
+     * @param objective             调优目标
+     * @param baseVertxOptions      基础 Vertx 选项，候选配置在其副本上应用
+     * @param baseDeploymentOptions 基础部署选项，候选配置在其副本上应用
+     * @return 调优结果
+     */
+    public Future<TuningResult> search(
+            TuningSpace space,
+            TuningWorkload workload,
+            TuningObjective objective,
+            VertxOptions baseVertxOptions,
+            DeploymentOptions baseDeploymentOptions
+    ) {
+        List<TuningCandidate> candidates = new ArrayList<>(space.enumerate());
+        if (candidates.size() > maxCandidates) {
+            Collections.shuffle(candidates, new Random(seed));
+            candidates = new ArrayList<>(candidates.subList(0, maxCandidates));
+        }
+        List<List<TuningResult.ScoredMeasurement>> rounds = new ArrayList<>();
+        return runRound(candidates, minMeasureMillis, rounds, workload, objective, baseVertxOptions, baseDeploymentOptions)
+                .map(v -> new TuningResult(rounds));
+    }
+
+    private Future<Void> runRound(
+            List<TuningCandidate> candidates,
+            long measureMillis,
+            List<List<TuningResult.ScoredMeasurement>> rounds,
+            TuningWorkload workload,
+            TuningObjective objective,
+            VertxOptions baseVertxOptions,
+            DeploymentOptions baseDeploymentOptions
+    ) {
+        List<TuningResult.ScoredMeasurement> round = new ArrayList<>();
+        Future<Void> chain = Future.succeededFuture();
+        for (TuningCandidate candidate : candidates) {
+            chain = chain.compose(v -> runTrial(candidate, measureMillis, workload, baseVertxOptions, baseDeploymentOptions))
+                         .compose(measurement -> {
+                             double score = measurement.error() == null
+                                     ? objective.score(measurement)
+                                     : Double.NEGATIVE_INFINITY;
+                             round.add(new TuningResult.ScoredMeasurement(measurement, score));
+                             if (logger != null) {
+                                 logger.info("Trial [" + candidate + "] " + measurement);
+                             }
+                             return Future.succeededFuture();
+                         });
+        }
+        return chain.compose(v -> {
+            round.sort(Comparator.comparingDouble(TuningResult.ScoredMeasurement::score).reversed());
+            rounds.add(round);
+            if (round.size() <= 1 || measureMillis >= maxMeasureMillis) {
+                return Future.succeededFuture();
+            }
+            int keep = Math.max(1, (round.size() + eta - 1) / eta);
+            List<TuningCandidate> survivors = new ArrayList<>();
+            for (TuningResult.ScoredMeasurement scored : round.subList(0, keep)) {
+                if (Double.isInfinite(scored.score()) && scored.score() < 0) {
+                    break;
+                }
+                survivors.add(scored.measurement().candidate());
+            }
+            if (survivors.isEmpty()) {
+                return Future.succeededFuture();
+            }
+            return runRound(survivors, Math.min(maxMeasureMillis, measureMillis * eta), rounds,
+                    workload, objective, baseVertxOptions, baseDeploymentOptions);
+        });
+    }
+
+    private Future<TuningMeasurement> runTrial(
+            TuningCandidate candidate,
+            long measureMillis,
+            TuningWorkload workload,
+            VertxOptions baseVertxOptions,
+            DeploymentOptions baseDeploymentOptions
+    ) {
+        DeploymentOptions deploymentOptions;
+        Vertx vertx;
+        try {
+            VertxOptions vertxOptions = candidate.applyTo(new VertxOptions(baseVertxOptions));
+            deploymentOptions = candidate.applyTo(new DeploymentOptions(baseDeploymentOptions));
+            vertx = Vertx.builder().with(vertxOptions).build();
+        } catch (Throwable throwable) {
+            // 如线程数小于 1 等非法取值，按失败的试验计分，不中断搜索
+            return Future.succeededFuture(new TuningMeasurement(candidate, measureMillis, 0, 0, 0, 0, 0, 0, throwable));
+        }
+        TuningTrial trial = new TuningTrial(vertx, candidate, deploymentOptions, warmupMillis, measureMillis);
+
+        Future<Void> driven;
+        try {
+            driven = workload.drive(trial);
+        } catch (Throwable throwable) {
+            driven = Future.failedFuture(throwable);
+        }
+        return driven.transform(ar -> {
+            TuningMeasurement measurement = trial.toMeasurement(ar.failed() ? ar.cause() : null);
+            return vertx.close().transform(closed -> Future.succeededFuture(measurement));
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.net.TCPSSLOptions;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 配置空间中的一个候选配置。
+ *
+ * @param eventLoopPoolSize     事件循环线程数
+ * @param workerPoolSize        worker 线程数
+ * @param instances             Verticle 部署实例数
+ * @param preferNativeTransport 是否优先使用 Netty 原生传输（epoll / kqueue / io_uring）
+ * @param tcpNoDelay            是否启用 TCP_NODELAY
+ * @param tcpFastOpen           是否启用 TCP_FASTOPEN
+ * @since 5.0.3
+ */
+@NullMarked
+public record TuningCandidate(
+        int eventLoopPoolSize,
+        int workerPoolSize,
+        int instances,
+        boolean preferNativeTransport,
+        boolean tcpNoDelay,
+        boolean tcpFastOpen
+) {
+    /**
+     * @param vertxOptions 基础选项，将被直接修改
+     * @return 应用了本候选配置的选项
+     */
+    public VertxOptions applyTo(VertxOptions vertxOptions) {
+        return vertxOptions.setEventLoopPoolSize(eventLoopPoolSize)
+                           .setWorkerPoolSize(workerPoolSize)
+                           .setPreferNativeTransport(preferNativeTransport);
+    }
+
+    /**
+     * @param deploymentOptions 基础选项，将被直接修改
+     * @return 应用了本候选配置的选项
+     */
+    public DeploymentOptions applyTo(DeploymentOptions deploymentOptions) {
+        return deploymentOptions.setInstances(instances);
+    }
+
+    /**
+     * 将本候选配置中的 Netty TCP 选项应用到负载自行创建的服务端或客户端选项上，
+     * 如{@code HttpServerOptions}、{@code NetClientOptions}。
+     *
+     * @param tcpOptions 服务端或客户端选项，将被直接修改
+     * @param <T>        选项类型
+     * @return 传入的选项
+     */
+    public <T extends TCPSSLOptions> T applyTo(T tcpOptions) {
+        tcpOptions.setTcpNoDelay(tcpNoDelay);
+        tcpOptions.setTcpFastOpen(tcpFastOpen);
+        return tcpOptions;
+    }
+
+    @Override
+    public String toString() {
+        return "eventLoops=" + eventLoopPoolSize
+                + " workers=" + workerPoolSize
+                + " instances=" + instances
+                + " native=" + preferNativeTransport
+                + " tcpNoDelay=" + tcpNoDelay
+                + " tcpFastOpen=" + tcpFastOpen;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * 一次调优试验的度量结果。
+ *
+ * @param candidate     候选配置
+ * @param measureMillis 度量期时长，单位为毫秒
+ * @param requests      度量期内完成的请求数
+ * @param failures      度量期内失败的请求数
+ * @param throughput    吞吐，单位为请求每秒
+ * @param p50Nanos      延迟中位数，单位为纳秒
+ * @param p99Nanos      p99 延迟，单位为纳秒
+ * @param maxNanos      最大延迟，单位为纳秒
+ * @param error         负载本身运行失败时的异常，否则为 null
+ * @since 5.0.3
+ */
+@NullMarked
+public record TuningMeasurement(
+        TuningCandidate candidate,
+        long measureMillis,
+        long requests,
+        long failures,
+        double throughput,
+        long p50Nanos,
+        long p99Nanos,
+        long maxNanos,
+        @Nullable Throwable error
+) {
+    @Override
+    public String toString() {
+        if (error != null) {
+            return "FAILED: " + error;
+        }
+        return String.format("rps=%.1f p50=%.3fms p99=%.3fms max=%.3fms requests=%d failures=%d window=%dms",
+                throughput, p50Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6, requests, failures, measureMillis);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.time.Duration;
+
+/**
+ * 调优目标，为每次试验的度量结果打分，分数越高越好。
+ * <p>
+ * 不满足约束的结果应返回{@link Double#NEGATIVE_INFINITY}；负载运行失败的试验由调优器直接判为该分数。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+@FunctionalInterface
+public interface TuningObjective {
+    /**
+     * @param p99Limit p99 延迟上限
+     * @return 在有请求完成、p99 延迟不超过上限且无失败请求的前提下，吞吐越高越好
+     */
+    static TuningObjective maximizeThroughputWithP99Under(Duration p99Limit) {
+        long limitNanos = p99Limit.toNanos();
+        return measurement -> {
+            if (measurement.failures() > 0 || measurement.requests() == 0 || measurement.p99Nanos() > limitNanos) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            return measurement.throughput();
+        };
+    }
+
+    /**
+     * @return 在无失败请求的前提下，p99 延迟越低越好
+     */
+    static TuningObjective minimizeP99() {
+        return measurement -> {
+            if (measurement.failures() > 0 || measurement.requests() == 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            return -measurement.p99Nanos();
+        };
+    }
+
+    double score(TuningMeasurement measurement);
+}
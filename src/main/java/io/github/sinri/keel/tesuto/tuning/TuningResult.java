@@ -0,0 +1,77 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * 自动调优的结果。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class TuningResult {
+    private final List<List<ScoredMeasurement>> rounds;
+
+    TuningResult(List<List<ScoredMeasurement>> rounds) {
+        this.rounds = List.copyOf(rounds);
+    }
+
+    /**
+     * @return 每一轮的试验结果，轮内按分数降序排列
+     */
+    public List<List<ScoredMeasurement>> getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return 最后一轮中分数最高的试验结果；所有试验均不满足调优目标时为 null
+     */
+    public @Nullable ScoredMeasurement getBest() {
+        if (rounds.isEmpty() || rounds.get(rounds.size() - 1).isEmpty()) {
+            return null;
+        }
+        ScoredMeasurement best = rounds.get(rounds.size() - 1).get(0);
+        return Double.isInfinite(best.score()) && best.score() < 0 ? null : best;
+    }
+
+    /**
+     * @return 可直接打印的各轮试验结果及最佳配置
+     */
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rounds.size(); i++) {
+            List<ScoredMeasurement> round = rounds.get(i);
+            sb.append("Round ").append(i + 1).append(" (").append(round.size()).append(" candidates)\n");
+            for (ScoredMeasurement scored : round) {
+                sb.append(String.format("  score=%-14s %s%n    %s%n",
+                        Double.isInfinite(scored.score()) ? "infeasible" : String.format("%.3f", scored.score()),
+                        scored.measurement().candidate(),
+                        scored.measurement()));
+            }
+        }
+        ScoredMeasurement best = getBest();
+        if (best == null) {
+            sb.append("No candidate satisfied the objective.");
+        } else {
+            sb.append("Best: ").append(best.measurement().candidate()).append('\n')
+              .append("      ").append(best.measurement());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toReport();
+    }
+
+    /**
+     * 带有调优目标分数的试验结果。
+     *
+     * @param measurement 度量结果
+     * @param score       分数
+     */
+    public record ScoredMeasurement(TuningMeasurement measurement, double score) {
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.vertx.core.VertxOptions;
+import org.jspecify.annotations.NullMarked;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 自动调优的配置空间，为每个维度给出候选取值，候选配置为各维度取值的笛卡尔积。
+ * <p>
+ * 未设置的维度仅有一个取值：事件循环与 worker 线程数取{@link VertxOptions}的默认值，
+ * 实例数为 1，布尔选项为 false（TCP_NODELAY 为 true，与 Vert.x 默认一致）。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public class TuningSpace {
+    private List<Integer> eventLoopPoolSizes = List.of(VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE);
+    private List<Integer> workerPoolSizes = List.of(VertxOptions.DEFAULT_WORKER_POOL_SIZE);
+    private List<Integer> instanceCounts = List.of(1);
+    private List<Boolean> preferNativeTransportChoices = List.of(false);
+    private List<Boolean> tcpNoDelayChoices = List.of(true);
+    private List<Boolean> tcpFastOpenChoices = List.of(false);
+
+    public TuningSpace setEventLoopPoolSizes(Integer... sizes) {
+        this.eventLoopPoolSizes = nonEmpty(List.of(sizes));
+        return this;
+    }
+
+    public TuningSpace setWorkerPoolSizes(Integer... sizes) {
+        this.workerPoolSizes = nonEmpty(List.of(sizes));
+        return this;
+    }
+
+    public TuningSpace setInstanceCounts(Integer... counts) {
+        this.instanceCounts = nonEmpty(List.of(counts));
+        return this;
+    }
+
+    public TuningSpace setPreferNativeTransportChoices(Boolean... choices) {
+        this.preferNativeTransportChoices = nonEmpty(List.of(choices));
+        return this;
+    }
+
+    public TuningSpace setTcpNoDelayChoices(Boolean... choices) {
+        this.tcpNoDelayChoices = nonEmpty(List.of(choices));
+        return this;
+    }
+
+    public TuningSpace setTcpFastOpenChoices(Boolean... choices) {
+        this.tcpFastOpenChoices = nonEmpty(List.of(choices));
+        return this;
+    }
+
+    /**
+     * @return 配置空间中的全部候选配置
+     */
+    public List<TuningCandidate> enumerate() {
+        List<TuningCandidate> candidates = new ArrayList<>();
+        for (int eventLoopPoolSize : eventLoopPoolSizes) {
+            for (int workerPoolSize : workerPoolSizes) {
+                for (int instances : instanceCounts) {
+                    for (boolean preferNativeTransport : preferNativeTransportChoices) {
+                        for (boolean tcpNoDelay : tcpNoDelayChoices) {
+                            for (boolean tcpFastOpen : tcpFastOpenChoices) {
+                                candidates.add(new TuningCandidate(eventLoopPoolSize, workerPoolSize, instances,
+                                        preferNativeTransport, tcpNoDelay, tcpFastOpen));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static <T> List<T> nonEmpty(List<T> choices) {
+        if (choices.isEmpty()) {
+            throw new IllegalArgumentException("At least one choice is required");
+        }
+        return choices;
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.github.sinri.keel.tesuto.profile.LatencyHistogram;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一次调优试验的运行环境，交由{@link TuningWorkload}施加负载。
+ * <p>
+ * 试验时长包括预热期与度量期；预热期内记录的延迟与失败不计入度量结果。
+ * 计时自负载就绪时开始，即首次调用{@link #start()}、{@link #isOver()}或记录方法时，部署被测逻辑的耗时不计入试验时长。
+ * 记录方法是线程安全的，可由多个事件循环线程并发调用。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+public final class TuningTrial {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final Vertx vertx;
+    private final TuningCandidate candidate;
+    private final DeploymentOptions deploymentOptions;
+    private final long warmupMillis;
+    private final long measureMillis;
+    private final AtomicLong startNanos = new AtomicLong(NOT_STARTED);
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+
+    TuningTrial(Vertx vertx, TuningCandidate candidate, DeploymentOptions deploymentOptions, long warmupMillis, long measureMillis) {
+        this.vertx = vertx;
+        this.candidate = candidate;
+        this.deploymentOptions = deploymentOptions;
+        this.warmupMillis = warmupMillis;
+        this.measureMillis = measureMillis;
+    }
+
+    /**
+     * 标记负载就绪，开始预热期与度量期的计时；重复调用时以首次为准。
+     * <p>
+     * 负载应在部署完被测逻辑、即将发出首个请求时调用；未调用时，计时自首次调用{@link #isOver()}或记录方法时开始。
+     */
+    public void start() {
+        startNanos.compareAndSet(NOT_STARTED, System.nanoTime());
+    }
+
+    private long measureStartNanos() {
+        start();
+        return startNanos.get() + warmupMillis * 1_000_000L;
+    }
+
+    private long endNanos() {
+        return measureStartNanos() + measureMillis * 1_000_000L;
+    }
+
+    /**
+     * @return 按候选配置构建的、本次试验专用的 Vertx 实例；试验结束后由调优器关闭
+     */
+    public Vertx getVertx() {
+        return vertx;
+    }
+
+    public TuningCandidate getCandidate() {
+        return candidate;
+    }
+
+    /**
+     * @return 应用了候选配置的部署选项，负载应以此部署被测的 Verticle
+     */
+    public DeploymentOptions getDeploymentOptions() {
+        return deploymentOptions;
+    }
+
+    /**
+     * @return 试验总时长（预热期与度量期之和），单位为毫秒
+     */
+    public long getDurationMillis() {
+        return warmupMillis + measureMillis;
+    }
+
+    /**
+     * @return 试验时长是否已到，负载应在此之后停止发出新请求
+     */
+    public boolean isOver() {
+        return System.nanoTime() - endNanos() >= 0;
+    }
+
+    /**
+     * 记录一个请求的延迟。
+     *
+     * @param latencyNanos 延迟，单位为纳秒
+     */
+    public void recordLatency(long latencyNanos) {
+        if (isMeasuring()) {
+            latencyHistogram.record(latencyNanos);
+        }
+    }
+
+    /**
+     * 记录一个失败的请求。
+     */
+    public void recordFailure() {
+        if (isMeasuring()) {
+            failures.increment();
+        }
+    }
+
+    private boolean isMeasuring() {
+        long measureStartNanos = measureStartNanos();
+        long now = System.nanoTime();
+        return now - measureStartNanos >= 0 && now - (measureStartNanos + measureMillis * 1_000_000L) < 0;
+    }
+
+    TuningMeasurement toMeasurement(@Nullable Throwable error) {
+        return new TuningMeasurement(
+                candidate,
+                measureMillis,
+                latencyHistogram.getCount(),
+                failures.sum(),
+                latencyHistogram.getCount() * 1000.0 / measureMillis,
+                latencyHistogram.getValueAtPercentile(50),
+                latencyHistogram.getValueAtPercentile(99),
+                latencyHistogram.getMaxNanos(),
+                error
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.vertx.core.Future;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * 调优试验中施加的负载。
+ *
+ * @since 5.0.3
+ */
+@NullMarked
+@FunctionalInterface
+public interface TuningWorkload {
+    /**
+     * 在{@link TuningTrial#getVertx()}上以{@link TuningTrial#getDeploymentOptions()}部署被测逻辑，
+     * 调用{@link TuningTrial#start()}开始计时，持续施加负载直至{@link TuningTrial#isOver()}，并通过{@link TuningTrial#recordLatency(long)}、
+     * {@link TuningTrial#recordFailure()}记录每个请求的结果。
+     * <p>
+     * 试验专用的 Vertx 实例会在返回的 Future 完成后由调优器关闭，无需自行卸载。
+     *
+     * @param trial 试验环境
+     * @return 负载施加完毕时的异步结果
+     */
+    Future<Void> drive(TuningTrial trial);
+}
@@ -0,0 +1,6 @@
+/**
+ * 这个包包含了基于{@link io.github.sinri.keel.tesuto.KeelInstantRunner}的 VertxOptions / DeploymentOptions 自动调优工具。
+ *
+ * @since 5.0.3
+ */
+package io.github.sinri.keel.tesuto.tuning;
@@ -0,0 +1,48 @@
+package io.github.sinri.keel.tesuto.cds;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class AppCdsOptionsTest extends KeelJUnit5Test {
+    @Test
+    void testParse() {
+        AppCdsOptions defaults = AppCdsOptions.parse(new String[]{"sample.Runner"});
+        assertEquals(AppCdsMode.RUN, defaults.mode());
+        assertEquals(Path.of(KeelAppCdsLauncher.DEFAULT_ARCHIVE_DIRECTORY, "sample.Runner.jsa").toAbsolutePath(),
+                defaults.archive());
+        assertEquals(List.of(), defaults.runnerArgs());
+
+        AppCdsOptions options = AppCdsOptions.parse(new String[]{
+                "--compare", "--runs=5", "--archive=build/cds/a.jsa", "--retrain", "sample.Runner", "--train", "x"
+        });
+        assertEquals(AppCdsMode.COMPARE, options.mode());
+        assertEquals(5, options.runs());
+        assertTrue(options.retrain());
+        assertEquals(Path.of("build/cds/a.jsa").toAbsolutePath(), options.archive());
+        assertEquals("sample.Runner", options.runnerClass());
+        // 即时运行类名之后的参数原样传递
+        assertEquals(List.of("--train", "x"), options.runnerArgs());
+
+        assertThrows(IllegalArgumentException.class, () -> AppCdsOptions.parse(new String[]{"--train"}));
+        assertThrows(IllegalArgumentException.class, () -> AppCdsOptions.parse(new String[]{"--runs=0", "sample.Runner"}));
+        assertThrows(IllegalArgumentException.class, () -> AppCdsOptions.parse(new String[]{"--unknown", "sample.Runner"}));
+    }
+
+    @Test
+    void testMedianAndForwarding() {
+        assertEquals(20, KeelAppCdsLauncher.median(new long[]{30, 10, 20}));
+        assertEquals(10, KeelAppCdsLauncher.median(new long[]{20, -1, 10}));
+        assertEquals(-1, KeelAppCdsLauncher.median(new long[]{-1}));
+
+        assertTrue(KeelAppCdsLauncher.isForwardable("-Xmx512m"));
+        assertFalse(KeelAppCdsLauncher.isForwardable("-XX:SharedArchiveFile=a.jsa"));
+        assertFalse(KeelAppCdsLauncher.isForwardable("-agentlib:jdwp=transport=dt_socket,server=y,address=5005"));
+    }
+}
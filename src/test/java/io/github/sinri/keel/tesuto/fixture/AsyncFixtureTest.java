@@ -0,0 +1,145 @@
+package io.github.sinri.keel.tesuto.fixture;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class AsyncFixtureTest extends KeelJUnit5Test {
+    private static final long IDLE_TIMEOUT_MILLIS = 200L;
+    private static final AtomicInteger builds = new AtomicInteger();
+    private static final AsyncFixture<String> SLOW_FIXTURE = AsyncFixture.of("slow-fixture", vertx -> {
+        Promise<String> promise = Promise.promise();
+        vertx.setTimer(500L, id -> promise.complete("ready-" + builds.incrementAndGet()));
+        return promise.future();
+    }).withScope(FixtureScope.CLASS);
+
+    @BeforeAll
+    static void beforeAll(VertxTestContext testContext) {
+        acquireFixture(AsyncFixtureTest.class, SLOW_FIXTURE)
+                .onComplete(testContext.succeedingThenComplete());
+    }
+
+    @Test
+    void testSharedWithinClass(VertxTestContext testContext) {
+        acquireFixture(SLOW_FIXTURE)
+                .onComplete(testContext.succeeding(value -> testContext.verify(() -> {
+                    assertEquals("ready-1", value);
+                    assertEquals(1, AsyncFixtureRegistry.getInstance().getReferenceCount(getClass(), SLOW_FIXTURE));
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void testReferenceCounting(VertxTestContext testContext) {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger destroyed = new AtomicInteger();
+        AsyncFixture<Integer> fixture = AsyncFixture.of("ref-counted", vertx -> Future.succeededFuture(created.incrementAndGet()))
+                                                     .withScope(FixtureScope.PACKAGE)
+                                                     .withTeardown(value -> {
+                                                         destroyed.incrementAndGet();
+                                                         return Future.succeededFuture();
+                                                     })
+                                                     .withIdleTimeout(Duration.ZERO);
+        AsyncFixtureRegistry registry = AsyncFixtureRegistry.getInstance();
+
+        registry.acquire(UserA.class, fixture)
+                .compose(a -> registry.acquire(UserB.class, fixture).map(b -> {
+                    assertSame(a, b);
+                    return b;
+                }))
+                .compose(v -> registry.release(UserA.class))
+                .compose(v -> {
+                    assertEquals(0, destroyed.get());
+                    assertEquals(1, registry.getReferenceCount(UserB.class, fixture));
+                    return registry.release(UserB.class);
+                })
+                .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    assertEquals(1, created.get());
+                    assertEquals(1, destroyed.get());
+                    assertEquals(0, registry.getReferenceCount(UserB.class, fixture));
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void testIdleTimeoutEviction(VertxTestContext testContext) {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger destroyed = new AtomicInteger();
+        AsyncFixture<Integer> fixture = idleFixture("idle-evicted", created, destroyed);
+        AsyncFixtureRegistry registry = AsyncFixtureRegistry.getInstance();
+
+        registry.acquire(UserA.class, fixture)
+                .compose(v -> registry.release(UserA.class))
+                .compose(v -> {
+                    assertEquals(0, destroyed.get());
+                    return sleep(IDLE_TIMEOUT_MILLIS * 3);
+                })
+                .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    assertEquals(1, created.get());
+                    assertEquals(1, destroyed.get());
+                    assertEquals(0, registry.getReferenceCount(UserA.class, fixture));
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void testIdleTimeoutCancelledByReacquire(VertxTestContext testContext) {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger destroyed = new AtomicInteger();
+        AsyncFixture<Integer> fixture = idleFixture("idle-reacquired", created, destroyed);
+        AsyncFixtureRegistry registry = AsyncFixtureRegistry.getInstance();
+
+        registry.acquire(UserA.class, fixture)
+                .compose(a -> registry.release(UserA.class)
+                                      .compose(v -> registry.acquire(UserB.class, fixture))
+                                      .map(b -> {
+                                          assertSame(a, b);
+                                          return b;
+                                      }))
+                .compose(v -> sleep(IDLE_TIMEOUT_MILLIS * 3))
+                .compose(v -> {
+                    assertEquals(1, created.get());
+                    assertEquals(0, destroyed.get());
+                    assertEquals(1, registry.getReferenceCount(UserB.class, fixture));
+                    return registry.release(UserB.class);
+                })
+                .compose(v -> sleep(IDLE_TIMEOUT_MILLIS * 3))
+                .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    assertEquals(1, created.get());
+                    assertEquals(1, destroyed.get());
+                    testContext.completeNow();
+                })));
+    }
+
+    private static AsyncFixture<Integer> idleFixture(String key, AtomicInteger created, AtomicInteger destroyed) {
+        return AsyncFixture.of(key, vertx -> Future.succeededFuture(created.incrementAndGet()))
+                           .withScope(FixtureScope.PACKAGE)
+                           .withTeardown(value -> {
+                               destroyed.incrementAndGet();
+                               return Future.succeededFuture();
+                           })
+                           .withIdleTimeout(Duration.ofMillis(IDLE_TIMEOUT_MILLIS));
+    }
+
+    private Future<Void> sleep(long millis) {
+        Promise<Void> promise = Promise.promise();
+        getVertx().setTimer(millis, id -> promise.complete());
+        return promise.future();
+    }
+
+    private static class UserA {
+    }
+
+    private static class UserB {
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.sinri.keel.tesuto.footprint;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class ObjectFootprintTest extends KeelJUnit5Test {
+    @Test
+    void testPrimitiveArray() {
+        FootprintReport report = measureFootprint(new long[1024]);
+        getUnitTestLogger().info("long[1024]:\n" + report.toReport());
+
+        assertEquals(1, report.getObjectCount());
+        assertTrue(report.getTotalBytes() >= 8 * 1024);
+        report.assertTotalBytesAtMost(8 * 1024 + 32);
+    }
+
+    @Test
+    void testBoxedCollection() {
+        List<Long> list = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            list.add(1000_000L + i);
+        }
+        FootprintReport report = measureFootprint(list);
+        getUnitTestLogger().info("ArrayList<Long>:\n" + report.toReport());
+
+        assertEquals(1000, report.getClassStat(Long.class).instances());
+        assertEquals(1, report.getClassStat(ArrayList.class).instances());
+        assertTrue(report.getTotalBytes() > measureFootprint(new long[1000]).getTotalBytes());
+    }
+
+    @Test
+    void testSharedReferencesCountedOnce() {
+        String shared = "shared-value";
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put("k" + i, shared);
+        }
+        FootprintReport report = measureFootprint(map);
+
+        // 10 个键，加上被 10 个条目共同引用的 1 个值；每个 String 各有一个字节数组
+        assertEquals(11, report.getClassStat(String.class).instances());
+        assertEquals(11, report.getClassStat(byte[].class).instances());
+        assertEquals(0, report.getUntraversedReferenceCount());
+    }
+
+    @Test
+    void testStringContentsSized() {
+        FootprintReport latin1 = measureFootprint("x".repeat(60));
+        FootprintReport utf16 = measureFootprint("\u4e2d".repeat(60));
+
+        assertEquals(0, latin1.getUntraversedReferenceCount());
+        assertTrue(latin1.getClassStat(byte[].class).bytes() >= 60);
+        assertTrue(utf16.getClassStat(byte[].class).bytes() >= 120);
+        assertTrue(utf16.getTotalBytes() > latin1.getTotalBytes());
+    }
+
+    @Test
+    void testBoundaryExcluded() {
+        String shared = "shared-value";
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put("k" + i, shared);
+        }
+        FootprintReport report = measureFootprint(map, object -> object == shared);
+
+        assertEquals(10, report.getClassStat(String.class).instances());
+    }
+
+    @Test
+    void testInaccessibleReferenceReported() {
+        // java.util.concurrent.atomic 未向测试开放，其私有字段无法遍历
+        FootprintReport report = measureFootprint(new AtomicReference<>("value"));
+
+        assertEquals(1, report.getObjectCount());
+        assertEquals(1, report.getUntraversedReferenceCount());
+    }
+
+    @Test
+    void testBudgetExceeded() {
+        FootprintReport report = measureFootprint(new byte[4096]);
+
+        assertThrows(AssertionError.class, () -> report.assertTotalBytesAtMost(1024));
+        assertThrows(AssertionError.class, () -> report.assertClassBytesAtMost(byte[].class, 1024));
+        report.assertObjectCountAtMost(1);
+    }
+}
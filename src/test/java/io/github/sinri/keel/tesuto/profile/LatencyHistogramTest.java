@@ -0,0 +1,63 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class LatencyHistogramTest extends KeelJUnit5Test {
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1000, histogram.getMinNanos());
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertEquals(5_000_500.0, histogram.getMeanNanos(), 0.001);
+        // 每个二次幂区间分为 32 个子桶，百分位取桶上界，相对误差不超过 1/32
+        assertWithinBucket(5_000_000, histogram.getValueAtPercentile(50));
+        assertWithinBucket(9_900_000, histogram.getValueAtPercentile(99));
+        assertEquals(10_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 0; i < 32; i++) {
+            histogram.record(i);
+        }
+        assertEquals(15, histogram.getValueAtPercentile(50));
+        assertEquals(31, histogram.getValueAtPercentile(100));
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(50));
+    }
+
+    @Test
+    void testMerge() {
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram even = new LatencyHistogram();
+        LatencyHistogram odd = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            all.record(i * 1000);
+            (i % 2 == 0 ? even : odd).record(i * 1000);
+        }
+        even.merge(odd);
+
+        assertEquals(all.getCount(), even.getCount());
+        assertEquals(all.getMinNanos(), even.getMinNanos());
+        assertEquals(all.getMaxNanos(), even.getMaxNanos());
+        assertEquals(all.getMeanNanos(), even.getMeanNanos(), 0.001);
+        assertEquals(all.getValueAtPercentile(50), even.getValueAtPercentile(50));
+        assertEquals(all.getValueAtPercentile(99.9), even.getValueAtPercentile(99.9));
+        assertEquals(all.toSummary(), even.toSummary());
+    }
+
+    private static void assertWithinBucket(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 32,
+                "Expected about " + expected + " but was " + actual);
+    }
+}
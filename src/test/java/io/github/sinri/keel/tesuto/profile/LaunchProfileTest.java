@@ -0,0 +1,85 @@
+package io.github.sinri.keel.tesuto.profile;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class LaunchProfileTest extends KeelJUnit5Test {
+    @Test
+    void testRepeatedBeginAndEndIgnored() {
+        LaunchProfile profile = new LaunchProfile();
+        profile.begin(LaunchPhase.BEFORE_RUN);
+        profile.end(LaunchPhase.BEFORE_RUN);
+        LaunchPhaseRecord record = profile.getRecord(LaunchPhase.BEFORE_RUN);
+        assertNotNull(record);
+
+        // launch() 的失败分支会再次结束已结束的阶段，也可能结束从未开始的阶段
+        profile.end(LaunchPhase.BEFORE_RUN);
+        profile.end(LaunchPhase.DEPLOY);
+        profile.begin(LaunchPhase.BEFORE_RUN);
+        profile.end(LaunchPhase.BEFORE_RUN);
+
+        assertSame(record, profile.getRecord(LaunchPhase.BEFORE_RUN));
+        assertNull(profile.getRecord(LaunchPhase.DEPLOY));
+        assertEquals(1, profile.getRecords().size());
+        assertEquals(-1, profile.getJvmUptimeAtBeginMillis(LaunchPhase.DEPLOY));
+    }
+
+    @Test
+    void testRecordsInDeclarationOrder() throws InterruptedException {
+        LaunchProfile profile = new LaunchProfile();
+        profile.begin(LaunchPhase.RUN);
+        Thread.sleep(20);
+        profile.begin(LaunchPhase.LOAD_CONFIGURATION);
+        profile.end(LaunchPhase.LOAD_CONFIGURATION);
+        profile.end(LaunchPhase.RUN);
+
+        List<LaunchPhase> phases = profile.getRecords().stream()
+                                          .map(LaunchPhaseRecord::phase)
+                                          .collect(Collectors.toList());
+        assertEquals(List.of(LaunchPhase.LOAD_CONFIGURATION, LaunchPhase.RUN), phases);
+
+        long runBegin = profile.getJvmUptimeAtBeginMillis(LaunchPhase.RUN);
+        assertTrue(runBegin >= profile.getJvmUptimeAtCreationMillis());
+        assertTrue(profile.getJvmUptimeAtBeginMillis(LaunchPhase.LOAD_CONFIGURATION) >= runBegin + 19); // 两次取值各自截断到毫秒
+        assertTrue(profile.getTotalNanos() >= 20_000_000L);
+    }
+
+    @Test
+    void testWriteTo() throws IOException {
+        LaunchProfile profile = new LaunchProfile();
+        profile.begin(LaunchPhase.DEPLOY);
+        profile.end(LaunchPhase.DEPLOY);
+        profile.begin(LaunchPhase.RUN);
+
+        Path file = Files.createTempDirectory("profile").resolve("launch.properties");
+        profile.writeTo(file);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertEquals(String.valueOf(profile.getJvmUptimeAtCreationMillis()), properties.getProperty("jvmUptimeAtCreationMillis"));
+        assertEquals(String.valueOf(profile.getTotalNanos()), properties.getProperty("totalNanos"));
+        assertNotNull(properties.getProperty("DEPLOY.elapsedNanos"));
+        assertNotNull(properties.getProperty("DEPLOY.loadedClasses"));
+        // KeelAppCdsLauncher 以此键读取启动耗时；未结束的阶段只有开始时刻
+        assertEquals(String.valueOf(profile.getJvmUptimeAtBeginMillis(LaunchPhase.RUN)),
+                properties.getProperty("RUN.beginUptimeMillis"));
+        assertNull(properties.getProperty("RUN.elapsedNanos"));
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class ReplayLogReaderTest extends KeelJUnit5Test {
+    @Test
+    void testReadAcrossSmallWindows() throws IOException {
+        StringBuilder content = new StringBuilder("# captured traffic\n\n");
+        for (int i = 0; i < 100; i++) {
+            content.append(1_700_000_000_000L + i).append('\t')
+                   .append(i % 2 == 0 ? "GET" : "POST").append('\t')
+                   .append("payload-").append(i).append(i % 5 == 0 ? "\r\n" : "\n");
+        }
+        content.append("1700000000100\tLAST\t").append("x".repeat(200));
+        Path path = Files.createTempFile("replay", ".log");
+        Files.writeString(path, content);
+
+        try (ReplayLogReader reader = new ReplayLogReader(path, 32)) {
+            int count = 0;
+            ReplayRecord record;
+            ReplayRecord last = null;
+            while ((record = reader.next()) != null) {
+                if (count < 100) {
+                    assertEquals(1_700_000_000_000L + count, record.timestamp());
+                    assertEquals("payload-" + count, record.payload().toString());
+                }
+                count++;
+                last = record;
+            }
+            assertEquals(101, count);
+            assertNotNull(last);
+            assertEquals("LAST", last.type());
+            assertEquals(200, last.payload().length());
+            assertEquals(reader.getFileSize(), reader.getPosition());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testMalformedRecord() throws IOException {
+        Path path = Files.createTempFile("replay", ".log");
+        Files.writeString(path, "not-a-timestamp\tGET\tpayload\n");
+        try (ReplayLogReader reader = new ReplayLogReader(path)) {
+            assertThrows(IOException.class, reader::next);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void testReplaySpeed() {
+        assertFalse(ReplaySpeed.parse("max").isPaced());
+        assertEquals(1_000_000_000L, ReplaySpeed.original().scheduleOffsetNanos(1000));
+        assertEquals(500_000_000L, ReplaySpeed.parse("2x").scheduleOffsetNanos(1000));
+        assertThrows(IllegalArgumentException.class, () -> ReplaySpeed.scaled(0));
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.sinri.keel.tesuto.replay;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class ReplayPumpTest extends KeelJUnit5Test {
+    @Test
+    void testMaxSpeedWithSingleInFlight(VertxTestContext testContext) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            content.append(1_700_000_000_000L + i * 1000L).append('\t')
+                   .append(i % 2 == 0 ? "OK" : "FAIL").append('\t')
+                   .append("payload-").append(i).append('\n');
+        }
+        Path path = Files.createTempFile("replay", ".log");
+        Files.writeString(path, content);
+        ReplayLogReader reader = new ReplayLogReader(path);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<String> replayed = new ArrayList<>();
+        ReplayStatistics statistics = new ReplayStatistics();
+        // 批大小为 4，10 条记录需多次补充读取；各请求异步完成，以验证并发上限
+        ReplayPump pump = new ReplayPump(getVertx(), reader, ReplaySpeed.asFastAsPossible(), 1, 4, record -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            replayed.add(record.payload().toString());
+            Promise<Void> promise = Promise.promise();
+            getVertx().setTimer(2, id -> {
+                inFlight.decrementAndGet();
+                if (record.type().equals("FAIL")) {
+                    promise.fail("failed " + record.payload());
+                } else {
+                    promise.complete();
+                }
+            });
+            return promise.future();
+        }, statistics);
+
+        pump.start()
+            .eventually(() -> {
+                try {
+                    reader.close();
+                    Files.delete(path);
+                    return Future.succeededFuture();
+                } catch (IOException e) {
+                    return Future.failedFuture(e);
+                }
+            })
+            .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                getUnitTestLogger().info(statistics.toReport());
+                assertEquals(1, maxInFlight.get());
+                assertEquals(10, replayed.size());
+                for (int i = 0; i < 10; i++) {
+                    assertEquals("payload-" + i, replayed.get(i));
+                }
+                assertEquals(5, statistics.getLatency("OK").getCount());
+                assertEquals(5, statistics.getLatency("FAIL").getCount());
+                assertEquals(0, statistics.getFailureCount("OK"));
+                assertEquals(5, statistics.getFailureCount("FAIL"));
+                assertTrue(statistics.getElapsedNanos() > 0);
+                testContext.completeNow();
+            })));
+    }
+
+    @Test
+    void testPacedReplay(VertxTestContext testContext) throws IOException {
+        Path path = Files.createTempFile("replay", ".log");
+        Files.writeString(path, "1000\tA\ta\n1100\tA\tb\n1200\tA\tc\n");
+        ReplayLogReader reader = new ReplayLogReader(path);
+        ReplayStatistics statistics = new ReplayStatistics();
+        long begin = System.nanoTime();
+
+        new ReplayPump(getVertx(), reader, ReplaySpeed.original(), 16, 16,
+                record -> Future.succeededFuture(), statistics)
+                .start()
+                .onComplete(testContext.succeeding(v -> testContext.verify(() -> {
+                    reader.close();
+                    Files.delete(path);
+                    // 按原始间隔，最后一条记录在首条之后约 200 毫秒发出
+                    assertTrue(System.nanoTime() - begin >= 190_000_000L);
+                    assertEquals(3, statistics.getLatency("A").getCount());
+                    testContext.completeNow();
+                })));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.sinri.keel.tesuto.shard;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class TestShardPlanTest extends KeelJUnit5Test {
+    @Test
+    void testBalancedPlan() {
+        Map<String, Long> durations = new HashMap<>();
+        long[] millis = {900, 500, 400, 300, 300, 200, 100, 50, 20, 10};
+        for (int i = 0; i < millis.length; i++) {
+            durations.put("sample.Class" + i, millis[i]);
+        }
+        TestShardPlan plan = new TestShardPlan(durations, 3);
+
+        long[] loads = new long[3];
+        durations.forEach((className, duration) -> loads[plan.shardOf(className)] += duration);
+        long max = Math.max(loads[0], Math.max(loads[1], loads[2]));
+        long min = Math.min(loads[0], Math.min(loads[1], loads[2]));
+        assertTrue(max - min <= 100, "Unbalanced shards: " + loads[0] + "/" + loads[1] + "/" + loads[2]);
+        assertEquals(plan.shardOf("sample.Unknown"), new TestShardPlan(durations, 3).shardOf("sample.Unknown"));
+    }
+
+    @Test
+    void testSettings() {
+        assertNull(TestShardPlan.Settings.from(key -> Optional.empty()));
+        Map<String, String> parameters = Map.of(
+                TestShardPlan.PARAM_SHARD_COUNT, "4",
+                TestShardPlan.PARAM_SHARD_INDEX, "2"
+        );
+        assertEquals(new TestShardPlan.Settings(2, 4),
+                TestShardPlan.Settings.from(key -> Optional.ofNullable(parameters.get(key))));
+    }
+
+    @Test
+    void testMergeShards() throws IOException {
+        Path directory = Files.createTempDirectory("durations");
+        Path file = directory.resolve(TestClassDurations.DEFAULT_DURATIONS_FILE);
+        TestClassDurations.merge(file, Map.of("sample.A", 100L, "sample.B", 5L));
+        TestClassDurations.merge(TestClassDurations.shardFile(file, 1), Map.of("sample.B", 20L, "sample.C", 7L));
+
+        assertEquals(1, TestClassDurations.mergeShards(file));
+        assertEquals(Map.of("sample.A", 100L, "sample.B", 20L, "sample.C", 7L), TestClassDurations.load(file));
+        assertFalse(Files.exists(TestClassDurations.shardFile(file, 1)));
+    }
+
+    @Nested
+    @ExtendWith(ExtensionContextResolver.class)
+    class NestedTests {
+        @Test
+        void testNestedClassFollowsOuterClass(ExtensionContext methodContext) {
+            ExtensionContext nestedContext = methodContext.getParent().orElseThrow();
+            ExtensionContext outerContext = nestedContext.getParent().orElseThrow();
+            assertEquals(NestedTests.class, nestedContext.getRequiredTestClass());
+            assertFalse(TestShardCondition.isTopLevelClass(nestedContext));
+            assertTrue(TestShardCondition.isTopLevelClass(outerContext));
+
+            // 内部类总是启用，是否执行由外部类所在的分片决定
+            ConditionEvaluationResult result = new TestShardCondition().evaluateExecutionCondition(nestedContext);
+            assertFalse(result.isDisabled());
+            assertTrue(result.getReason().orElse("").contains("top-level"));
+        }
+    }
+
+    static class ExtensionContextResolver implements ParameterResolver {
+        @Override
+        public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return parameterContext.getParameter().getType() == ExtensionContext.class;
+        }
+
+        @Override
+        public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+            return extensionContext;
+        }
+    }
+}
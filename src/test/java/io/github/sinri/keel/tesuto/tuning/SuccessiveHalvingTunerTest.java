@@ -0,0 +1,127 @@
+package io.github.sinri.keel.tesuto.tuning;
+
+import io.github.sinri.keel.tesuto.KeelJUnit5Test;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Promise;
+import io.vertx.core.VertxOptions;
+import io.vertx.junit5.VertxTestContext;
+import org.jspecify.annotations.NullMarked;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@NullMarked
+public class SuccessiveHalvingTunerTest extends KeelJUnit5Test {
+    @Test
+    void testSpaceEnumeration() {
+        TuningSpace space = new TuningSpace()
+                .setEventLoopPoolSizes(1, 2, 4)
+                .setInstanceCounts(1, 2)
+                .setTcpNoDelayChoices(true, false);
+        assertEquals(12, space.enumerate().size());
+    }
+
+    @Test
+    void testObjectiveRejectsEmptyTrial() {
+        TuningCandidate candidate = new TuningCandidate(1, 1, 1, false, true, false);
+        TuningMeasurement empty = new TuningMeasurement(candidate, 1000, 0, 0, 0, 0, 0, 0, null);
+        TuningMeasurement served = new TuningMeasurement(candidate, 1000, 500, 0, 500, 1_000_000, 2_000_000, 3_000_000, null);
+        TuningObjective objective = TuningObjective.maximizeThroughputWithP99Under(Duration.ofMillis(10));
+
+        assertEquals(Double.NEGATIVE_INFINITY, objective.score(empty));
+        assertEquals(500, objective.score(served));
+        assertEquals(Double.NEGATIVE_INFINITY, TuningObjective.minimizeP99().score(empty));
+    }
+
+    @Test
+    void testClockStartsWhenReady(VertxTestContext testContext) {
+        TuningTrial trial = new TuningTrial(getVertx(), new TuningCandidate(1, 1, 1, false, true, false),
+                new DeploymentOptions(), 0, 100);
+        // 模拟耗时的部署：就绪前的等待不占用度量期
+        getVertx().setTimer(200, id -> {
+            trial.start();
+            testContext.verify(() -> assertFalse(trial.isOver()));
+            trial.recordLatency(1_000_000L);
+            getVertx().setTimer(150, id2 -> testContext.verify(() -> {
+                assertTrue(trial.isOver());
+                assertEquals(1, trial.toMeasurement(null).requests());
+                testContext.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    void testInvalidCandidateDoesNotAbortSearch(VertxTestContext testContext) {
+        TuningWorkload workload = trial -> {
+            Promise<Void> promise = Promise.promise();
+            trial.getVertx().setPeriodic(1, id -> {
+                if (trial.isOver()) {
+                    trial.getVertx().cancelTimer(id);
+                    promise.tryComplete();
+                    return;
+                }
+                trial.recordLatency(1_000_000L);
+            });
+            return promise.future();
+        };
+
+        new SuccessiveHalvingTuner()
+                .setWarmupMillis(0)
+                .setMeasureMillis(50, 50)
+                .search(new TuningSpace().setEventLoopPoolSizes(0, 1), workload, TuningObjective.minimizeP99(),
+                        new VertxOptions(), new DeploymentOptions())
+                .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                    assertEquals(2, result.getRounds().get(0).size());
+                    TuningResult.ScoredMeasurement best = result.getBest();
+                    assertNotNull(best);
+                    assertEquals(1, best.measurement().candidate().eventLoopPoolSize());
+                    TuningResult.ScoredMeasurement invalid = result.getRounds().get(0).get(1);
+                    assertEquals(0, invalid.measurement().candidate().eventLoopPoolSize());
+                    assertNotNull(invalid.measurement().error());
+                    assertEquals(Double.NEGATIVE_INFINITY, invalid.score());
+                    testContext.completeNow();
+                })));
+    }
+
+    @Test
+    void testSearch(VertxTestContext testContext) {
+        // 模拟负载：吞吐随事件循环线程数增长，延迟随 worker 线程数增长
+        TuningWorkload workload = trial -> {
+            Promise<Void> promise = Promise.promise();
+            trial.getVertx().setPeriodic(1, id -> {
+                if (trial.isOver()) {
+                    trial.getVertx().cancelTimer(id);
+                    promise.tryComplete();
+                    return;
+                }
+                for (int i = 0; i < trial.getCandidate().eventLoopPoolSize(); i++) {
+                    trial.recordLatency(1_000_000L * trial.getCandidate().workerPoolSize());
+                }
+            });
+            return promise.future();
+        };
+        TuningSpace space = new TuningSpace()
+                .setEventLoopPoolSizes(1, 2, 4)
+                .setWorkerPoolSizes(1, 5);
+
+        new SuccessiveHalvingTuner()
+                .setWarmupMillis(0)
+                .setMeasureMillis(100, 300)
+                .setLogger(getUnitTestLogger())
+                .search(space, workload, TuningObjective.maximizeThroughputWithP99Under(Duration.ofMillis(3)),
+                        new VertxOptions(), new DeploymentOptions())
+                .onComplete(testContext.succeeding(result -> testContext.verify(() -> {
+                    getUnitTestLogger().info(result.toReport());
+                    assertEquals(2, result.getRounds().size());
+                    assertEquals(6, result.getRounds().get(0).size());
+                    assertEquals(2, result.getRounds().get(1).size());
+                    TuningResult.ScoredMeasurement best = result.getBest();
+                    assertNotNull(best);
+                    assertEquals(4, best.measurement().candidate().eventLoopPoolSize());
+                    assertEquals(1, best.measurement().candidate().workerPoolSize());
+                    testContext.completeNow();
+                })));
+    }
+}